@@ -34,7 +34,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     String path = request.getServletPath();
     
-    if (path.startsWith("/actuator") || path.startsWith("/swagger-ui") || path.startsWith("/v3/api-docs") || path.startsWith("/api/auth/")) {
+    if (path.startsWith("/actuator/health") || path.startsWith("/swagger-ui") || path.startsWith("/v3/api-docs") || path.startsWith("/api/auth/")) {
         filterChain.doFilter(request, response);
         return;
     }
@@ -1,5 +1,6 @@
 package com.jarothi.spot.jarothispot.auth.service;
 
+import com.jarothi.spot.jarothispot.datasource.ReadRouting;
 import com.jarothi.spot.jarothispot.user.User;
 import com.jarothi.spot.jarothispot.user.UserRepository;
 import org.springframework.security.core.GrantedAuthority;
@@ -21,8 +22,8 @@ public class CustomUserDetailsService implements UserDetailsService {
 
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    // username = email
-    User u = userRepository.findByEmail(username)
+    // username = email; read from the primary, as the result is kept in the query cache
+    User u = ReadRouting.onPrimary(() -> userRepository.findByEmail(username))
         .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
     Set<GrantedAuthority> authorities = u.getRoles().stream()
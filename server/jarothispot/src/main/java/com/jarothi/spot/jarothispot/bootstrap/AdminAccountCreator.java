@@ -0,0 +1,62 @@
+package com.jarothi.spot.jarothispot.bootstrap;
+
+import com.jarothi.spot.jarothispot.user.User;
+import com.jarothi.spot.jarothispot.user.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+
+/**
+ * Creates admin users at startup without holding up readiness: the existence check runs
+ * inline, but the BCrypt hash and the insert run on the task executor.
+ */
+@Component
+public class AdminAccountCreator {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminAccountCreator.class);
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TaskExecutor taskExecutor;
+
+    public AdminAccountCreator(UserRepository userRepository,
+                               PasswordEncoder passwordEncoder,
+                               @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Create the admin in the background unless a user with that email exists;
+     * returns whether creation was scheduled
+     */
+    public boolean createIfMissing(String email, String password) {
+        if (userRepository.existsByEmail(email)) {
+            return false;
+        }
+        taskExecutor.execute(() -> create(email, password));
+        return true;
+    }
+
+    private void create(String email, String password) {
+        User admin = new User();
+        admin.setEmail(email);
+        admin.setPasswordHash(passwordEncoder.encode(password));
+        admin.setRoles(Collections.singleton(User.Role.ADMIN));
+        try {
+            userRepository.save(admin);
+            log.info("Admin user created: {}", email);
+        } catch (DataIntegrityViolationException e) {
+            // Another runner (or instance) created the same admin meanwhile
+            log.info("Admin user already exists: {}", email);
+        }
+    }
+}
@@ -1,15 +1,11 @@
 package com.jarothi.spot.jarothispot.bootstrap;
 
-import com.jarothi.spot.jarothispot.user.User;
-import com.jarothi.spot.jarothispot.user.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @ConditionalOnProperty(prefix = "app.bootstrap.admin", name = "enabled", havingValue = "true")
@@ -17,35 +13,23 @@ public class AdminBootstrapRunner implements ApplicationRunner {
     private static final Logger log = LoggerFactory.getLogger(AdminBootstrapRunner.class);
 
     private final AdminBootstrapProperties props;
-    private final UserRepository users;
-    private final PasswordEncoder encoder;
+    private final AdminAccountCreator adminAccountCreator;
 
     public AdminBootstrapRunner(AdminBootstrapProperties props, 
-                              UserRepository users,
-                              PasswordEncoder encoder) {
+                              AdminAccountCreator adminAccountCreator) {
         this.props = props;
-        this.users = users;
-        this.encoder = encoder;
+        this.adminAccountCreator = adminAccountCreator;
     }
 
     @Override
-    @Transactional
     public void run(ApplicationArguments args) {
         if (props.getEmail() == null || props.getPassword() == null) {
             log.warn("Admin bootstrap enabled but email/password missing");
             return;
         }
 
-        if (users.existsByEmail(props.getEmail())) {
+        if (!adminAccountCreator.createIfMissing(props.getEmail(), props.getPassword())) {
             log.info("Admin already exists: {}", props.getEmail());
-            return;
         }
-
-        User admin = new User();
-        admin.setEmail(props.getEmail());
-        admin.setPasswordHash(encoder.encode(props.getPassword()));
-        admin.setRoles(java.util.Collections.singleton(User.Role.ADMIN));
-        users.save(admin);
-        log.info("Admin created: {}", props.getEmail());
     }
 }
\ No newline at end of file
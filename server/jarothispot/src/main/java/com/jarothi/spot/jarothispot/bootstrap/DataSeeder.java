@@ -4,23 +4,37 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jarothi.spot.jarothispot.catalog.*;
+import com.jarothi.spot.jarothispot.common.Money;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
- * Component to seed initial data from JSON files
+ * Component to seed initial data from JSON files.
+ *
+ * A SHA-256 checksum of the bundled files is stored in seed_state once they are applied;
+ * when it matches on the next start seeding is skipped after a single query. Otherwise each
+ * file costs one existence query and the missing rows are persisted in JDBC batches.
  */
 @Component
 public class DataSeeder {
@@ -28,26 +42,54 @@ public class DataSeeder {
     private static final Logger logger = LoggerFactory.getLogger(DataSeeder.class);
     private static final String DEFAULT_COLOR_HEX = "#9ca3af"; // Gray-400
 
+    private static final String SEED_NAME = "catalog";
+    private static final String CATEGORIES_FILE = "data/categories.json";
+    private static final String BOOKS_FILE = "data/books.json";
+
+    private static final String FIND_CHECKSUM = "SELECT checksum FROM seed_state WHERE name = ?";
+    private static final String SAVE_CHECKSUM = """
+        INSERT INTO seed_state (name, checksum, applied_at) VALUES (?, ?, now())
+        ON CONFLICT (name) DO UPDATE SET checksum = EXCLUDED.checksum, applied_at = EXCLUDED.applied_at
+        """;
+
     private final CategoryRepository categoryRepository;
     private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper objectMapper;
 
     public DataSeeder(CategoryRepository categoryRepository,
                      BookRepository bookRepository,
+                     EntityManager entityManager,
+                     JdbcTemplate jdbcTemplate,
                      ObjectMapper objectMapper) {
         this.categoryRepository = categoryRepository;
         this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
         this.objectMapper = objectMapper;
     }
 
+    // Runs before the listeners that build in-memory views of the catalog
     @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
     @Transactional
     public void seedData() {
-        logger.info("Starting data seeding...");
-        
         try {
-            seedCategories();
-            seedBooks();
+            byte[] categoriesJson = readResource(CATEGORIES_FILE);
+            byte[] booksJson = readResource(BOOKS_FILE);
+            String checksum = checksum(categoriesJson, booksJson);
+
+            List<String> stored = jdbcTemplate.queryForList(FIND_CHECKSUM, String.class, SEED_NAME);
+            if (stored.contains(checksum)) {
+                logger.info("Seed data unchanged (checksum {}), skipping data seeding", checksum.substring(0, 12));
+                return;
+            }
+
+            logger.info("Starting data seeding...");
+            Map<String, Category> categories = seedCategories(categoriesJson);
+            seedBooks(booksJson, categories);
+            jdbcTemplate.update(SAVE_CHECKSUM, SEED_NAME, checksum);
             logger.info("Data seeding completed successfully");
         } catch (IOException e) {
             logger.error("Error reading JSON files during data seeding: {}", e.getMessage(), e);
@@ -58,113 +100,112 @@ public class DataSeeder {
         }
     }
 
-    private void seedCategories() throws IOException {
-        logger.info("Seeding categories...");
-        
-        ClassPathResource resource = new ClassPathResource("data/categories.json");
-        if (!resource.exists()) {
+    /**
+     * Create the missing categories, returning every category keyed by type and name
+     */
+    private Map<String, Category> seedCategories(byte[] json) throws IOException {
+        Map<String, Category> categories = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categories.put(key(category.getType(), category.getName()), category);
+        }
+        if (json == null) {
             logger.warn("Categories JSON file not found, skipping category seeding");
-            return;
+            return categories;
         }
 
-        try (InputStream inputStream = resource.getInputStream()) {
-            List<CategorySeedData> categoryDataList = objectMapper.readValue(
-                inputStream, 
-                new TypeReference<List<CategorySeedData>>() {}
-            );
-
-            for (CategorySeedData categoryData : categoryDataList) {
-                createCategoryIfNotExists(
-                    categoryData.name(), 
-                    categoryData.type(), 
-                    categoryData.colorHex()
-                );
+        List<CategorySeedData> categoryDataList = objectMapper.readValue(json, new TypeReference<>() {});
+        int createdCategories = 0;
+        for (CategorySeedData categoryData : categoryDataList) {
+            if (!categories.containsKey(key(categoryData.type(), categoryData.name()))) {
+                createCategory(categories, categoryData.name(), categoryData.type(), categoryData.colorHex());
+                createdCategories++;
             }
-            
-            logger.info("Seeded {} categories", categoryDataList.size());
         }
+        logger.info("Seeded {} new categories", createdCategories);
+        return categories;
     }
 
-    private void seedBooks() throws IOException {
-        logger.info("Seeding books...");
-        
-        ClassPathResource resource = new ClassPathResource("data/books.json");
-        if (!resource.exists()) {
+    private void seedBooks(byte[] json, Map<String, Category> categories) throws IOException {
+        if (json == null) {
             logger.warn("Books JSON file not found, skipping book seeding");
             return;
         }
 
-        try (InputStream inputStream = resource.getInputStream()) {
-            List<BookSeedData> bookDataList = objectMapper.readValue(
-                inputStream, 
-                new TypeReference<List<BookSeedData>>() {}
-            );
-
-            int createdBooks = 0;
-            for (BookSeedData bookData : bookDataList) {
-                if (createBookIfNotExists(bookData)) {
-                    createdBooks++;
-                }
+        List<BookSeedData> bookDataList = objectMapper.readValue(json, new TypeReference<>() {});
+        // Simple idempotency check by title, one query for the whole file
+        Set<String> existingTitles = new HashSet<>(bookRepository.findExistingTitles(
+            bookDataList.stream().map(BookSeedData::title).toList()));
+
+        int createdBooks = 0;
+        for (BookSeedData bookData : bookDataList) {
+            if (existingTitles.add(bookData.title())) {
+                createBook(bookData, categories);
+                createdBooks++;
             }
-            
-            logger.info("Seeded {} new books", createdBooks);
         }
+        logger.info("Seeded {} new books", createdBooks);
     }
 
-    private Category createCategoryIfNotExists(String name, CategoryType type, String colorHex) {
-        return categoryRepository.findByNameAndType(name, type)
-            .orElseGet(() -> {
-                logger.debug("Creating category: {} of type {}", name, type);
-                Category category = new Category(name, type, colorHex);
-                return categoryRepository.save(category);
-            });
+    private Category createCategory(Map<String, Category> categories, String name, CategoryType type, String colorHex) {
+        logger.debug("Creating category: {} of type {}", name, type);
+        Category category = new Category(name, type, colorHex);
+        // persist rather than save: ids are pre-assigned, so save() would merge and SELECT first
+        entityManager.persist(category);
+        categories.put(key(type, name), category);
+        return category;
     }
 
-    private boolean createBookIfNotExists(BookSeedData bookData) {
-        // Check if book already exists by title (simple idempotency check)
-        if (bookRepository.existsByTitle(bookData.title())) {
-            logger.debug("Book '{}' already exists, skipping", bookData.title());
-            return false;
-        }
-
+    private void createBook(BookSeedData bookData, Map<String, Category> categories) {
         logger.debug("Creating book: {}", bookData.title());
-        
-        // Create the book entity
-        Book book = new Book(bookData.title(), bookData.description(), bookData.price());
+
+        Book book = new Book(bookData.title(), bookData.description(), Money.of(bookData.price()));
         book.setImageUrl(bookData.imageUrl());
         book.setActive(true);
-        
-        // Set stock if provided, otherwise default to 0
-        if (bookData.stock() != null) {
-            book.setStock(bookData.stock());
-        } else {
-            book.setStock(0);
-        }
-
-        // Resolve and set categories
-        Set<Category> categories = resolveCategoriesFromNames(bookData.categoriesByName());
-        book.setCategories(categories);
+        book.setStock(bookData.stock() != null ? bookData.stock() : 0);
+        book.setCategories(resolveCategoriesFromNames(bookData.categoriesByName(), categories));
 
-        bookRepository.save(book);
-        return true;
+        entityManager.persist(book);
     }
 
-    private Set<Category> resolveCategoriesFromNames(List<String> categoryNames) {
-        Set<Category> categories = new HashSet<>();
-        
+    private Set<Category> resolveCategoriesFromNames(List<String> categoryNames, Map<String, Category> categories) {
+        Set<Category> resolved = new HashSet<>();
         if (categoryNames != null) {
             for (String categoryName : categoryNames) {
-                Category category = categoryRepository.findByNameAndType(categoryName, CategoryType.GENRE_BOOK)
-                    .orElseGet(() -> {
-                        logger.info("Category '{}' not found, creating with default color", categoryName);
-                        Category newCategory = new Category(categoryName, CategoryType.GENRE_BOOK, DEFAULT_COLOR_HEX);
-                        return categoryRepository.save(newCategory);
-                    });
-                categories.add(category);
+                Category category = categories.get(key(CategoryType.GENRE_BOOK, categoryName));
+                if (category == null) {
+                    logger.info("Category '{}' not found, creating with default color", categoryName);
+                    category = createCategory(categories, categoryName, CategoryType.GENRE_BOOK, DEFAULT_COLOR_HEX);
+                }
+                resolved.add(category);
             }
         }
-        
-        return categories;
+        return resolved;
+    }
+
+    private static String key(CategoryType type, String name) {
+        return type + ":" + name;
+    }
+
+    private static byte[] readResource(String path) throws IOException {
+        ClassPathResource resource = new ClassPathResource(path);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private static String checksum(byte[]... files) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (byte[] file : files) {
+            // Length prefix keeps "missing" and "empty" files distinct
+            digest.update(Integer.toString(file == null ? -1 : file.length).getBytes());
+            if (file != null) {
+                digest.update(file);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
     }
 
     /**
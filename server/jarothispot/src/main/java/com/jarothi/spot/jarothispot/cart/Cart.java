@@ -1,5 +1,6 @@
 package com.jarothi.spot.jarothispot.cart;
 
+import com.jarothi.spot.jarothispot.common.Ids;
 import com.jarothi.spot.jarothispot.user.User;
 import jakarta.persistence.*;
 import java.util.HashSet;
@@ -14,7 +15,7 @@ public class Cart {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
-    private UUID id = UUID.randomUUID();
+    private UUID id = Ids.next();
 
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
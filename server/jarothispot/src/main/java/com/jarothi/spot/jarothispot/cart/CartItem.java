@@ -1,6 +1,7 @@
 package com.jarothi.spot.jarothispot.cart;
 
 import com.jarothi.spot.jarothispot.catalog.Product;
+import com.jarothi.spot.jarothispot.common.Ids;
 import jakarta.persistence.*;
 import java.util.UUID;
 
@@ -12,7 +13,7 @@ public class CartItem {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
-    private UUID id = UUID.randomUUID();
+    private UUID id = Ids.next();
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cart_id", nullable = false)
@@ -1,6 +1,7 @@
 package com.jarothi.spot.jarothispot.cart.dto;
 
-import java.math.BigDecimal;
+import com.jarothi.spot.jarothispot.common.Money;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -9,18 +10,18 @@ public class CartDTO {
 
     private UUID id;
     private List<CartItemDTO> items;
-    private BigDecimal subtotal;
+    private Money subtotal;
 
     // Constructors
     public CartDTO() {
         this.items = new ArrayList<>();
-        this.subtotal = BigDecimal.ZERO;
+        this.subtotal = Money.ZERO;
     }
 
-    public CartDTO(UUID id, List<CartItemDTO> items, BigDecimal subtotal) {
+    public CartDTO(UUID id, List<CartItemDTO> items, Money subtotal) {
         this.id = id;
         this.items = items != null ? items : new ArrayList<>();
-        this.subtotal = subtotal != null ? subtotal : BigDecimal.ZERO;
+        this.subtotal = subtotal != null ? subtotal : Money.ZERO;
     }
 
     // Getters and Setters
@@ -40,12 +41,12 @@ public class CartDTO {
         this.items = items != null ? items : new ArrayList<>();
     }
 
-    public BigDecimal getSubtotal() {
+    public Money getSubtotal() {
         return subtotal;
     }
 
-    public void setSubtotal(BigDecimal subtotal) {
-        this.subtotal = subtotal != null ? subtotal : BigDecimal.ZERO;
+    public void setSubtotal(Money subtotal) {
+        this.subtotal = subtotal != null ? subtotal : Money.ZERO;
     }
 
     // Utility methods
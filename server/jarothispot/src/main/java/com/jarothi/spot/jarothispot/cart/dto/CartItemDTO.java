@@ -1,6 +1,7 @@
 package com.jarothi.spot.jarothispot.cart.dto;
 
-import java.math.BigDecimal;
+import com.jarothi.spot.jarothispot.common.Money;
+
 import java.util.UUID;
 
 public class CartItemDTO {
@@ -9,7 +10,7 @@ public class CartItemDTO {
     private UUID productId;
     private String title;
     private String imageUrl;
-    private BigDecimal price;
+    private Money price;
     private int qty;
 
     // Constructors
@@ -17,7 +18,7 @@ public class CartItemDTO {
         // This constructor is intentionally empty. Required for serialization.
     }
 
-    public CartItemDTO(UUID id, UUID productId, String title, String imageUrl, BigDecimal price, int qty) {
+    public CartItemDTO(UUID id, UUID productId, String title, String imageUrl, Money price, int qty) {
         this.id = id;
         this.productId = productId;
         this.title = title;
@@ -59,11 +60,11 @@ public class CartItemDTO {
         this.imageUrl = imageUrl;
     }
 
-    public BigDecimal getPrice() {
+    public Money getPrice() {
         return price;
     }
 
-    public void setPrice(BigDecimal price) {
+    public void setPrice(Money price) {
         this.price = price;
     }
 
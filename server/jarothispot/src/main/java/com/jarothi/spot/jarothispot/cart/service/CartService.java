@@ -11,6 +11,8 @@ import com.jarothi.spot.jarothispot.cart.repository.CartItemRepository;
 import com.jarothi.spot.jarothispot.catalog.Product;
 import com.jarothi.spot.jarothispot.catalog.ProductRepository;
 import com.jarothi.spot.jarothispot.catalog.exception.InsufficientStockException;
+import com.jarothi.spot.jarothispot.common.Money;
+import com.jarothi.spot.jarothispot.datasource.ReadRouting;
 import com.jarothi.spot.jarothispot.user.User;
 import com.jarothi.spot.jarothispot.user.UserRepository;
 import org.springframework.security.core.Authentication;
@@ -18,7 +20,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -49,7 +50,7 @@ public class CartService {
         
         if (cartOpt.isEmpty()) {
             // Return empty cart
-            return new CartDTO(null, List.of(), BigDecimal.ZERO);
+            return new CartDTO(null, List.of(), Money.ZERO);
         }
         
         Cart cart = cartOpt.get();
@@ -155,7 +156,7 @@ public class CartService {
         }
         
         String email = authentication.getName();
-        return userRepository.findByEmail(email)
+        return ReadRouting.onPrimary(() -> userRepository.findByEmail(email))
             .orElseThrow(() -> new IllegalStateException("Current user not found in database"));
     }
 
@@ -164,11 +165,13 @@ public class CartService {
             .map(this::mapToCartItemDTO)
             .toList();
 
-        BigDecimal subtotal = itemDTOs.stream()
-            .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQty())))
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Summed in cents, so that no intermediate Money is allocated per line
+        long subtotal = 0;
+        for (CartItemDTO item : itemDTOs) {
+            subtotal = Math.addExact(subtotal, Math.multiplyExact(item.getPrice().minorUnits(), item.getQty()));
+        }
 
-        return new CartDTO(cart.getId(), itemDTOs, subtotal);
+        return new CartDTO(cart.getId(), itemDTOs, Money.ofMinor(subtotal));
     }
 
     private CartItemDTO mapToCartItemDTO(CartItem cartItem) {
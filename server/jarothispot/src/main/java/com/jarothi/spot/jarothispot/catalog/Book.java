@@ -1,8 +1,8 @@
 package com.jarothi.spot.jarothispot.catalog;
 
+import com.jarothi.spot.jarothispot.common.Money;
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import java.math.BigDecimal;
 
 @Entity
 @DiscriminatorValue("BOOK")
@@ -13,7 +13,7 @@ public class Book extends Product {
         super();
     }
 
-    public Book(String title, String description, BigDecimal price) {
+    public Book(String title, String description, Money price) {
         super(title, description, price);
     }
 
@@ -1,12 +1,14 @@
 package com.jarothi.spot.jarothispot.catalog;
 
+import com.jarothi.spot.jarothispot.common.Money;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -22,6 +24,12 @@ public interface BookRepository extends JpaRepository<Book, UUID> {
      */
     boolean existsByTitle(String title);
 
+    /**
+     * Find which of the given titles already exist
+     */
+    @Query("SELECT b.title FROM Book b WHERE b.title IN :titles")
+    Set<String> findExistingTitles(@Param("titles") Collection<String> titles);
+
     /**
      * Find books by title containing (case insensitive) and active status
      */
@@ -31,7 +39,7 @@ public interface BookRepository extends JpaRepository<Book, UUID> {
     /**
      * Find books by price range and active status
      */
-    List<Book> findByPriceBetweenAndActive(BigDecimal minPrice, BigDecimal maxPrice, boolean active);
+    List<Book> findByPriceBetweenAndActive(Money minPrice, Money maxPrice, boolean active);
 
     /**
      * Find books by category (genre) and active status
@@ -40,20 +48,12 @@ public interface BookRepository extends JpaRepository<Book, UUID> {
     List<Book> findByGenreCategoryIdAndActive(@Param("categoryId") UUID categoryId, @Param("active") boolean active);
 
     /**
-     * Find books with text search in title and description
+     * Count active books by genre category; only books can be in GENRE_BOOK categories, so
+     * this is the category's product counter
      */
-    @Query("SELECT b FROM Book b WHERE (LOWER(b.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(b.description) LIKE LOWER(CONCAT('%', :query, '%'))) AND b.active = :active ORDER BY b.title")
-    List<Book> findByQueryAndActive(@Param("query") String query, @Param("active") boolean active);
-
-    /**
-     * Count active books by genre category
-     */
-    @Query("SELECT COUNT(DISTINCT b) FROM Book b JOIN b.categories c WHERE c.id = :categoryId AND c.type = 'GENRE_BOOK' AND b.active = true")
+    @Query(value = "SELECT COALESCE((SELECT n.active_products FROM product_category_counts n " +
+                   "JOIN categories c ON c.id = n.category_id " +
+                   "WHERE n.category_id = :categoryId AND c.type = 'GENRE_BOOK'), 0)",
+           nativeQuery = true)
     long countByGenreCategoryIdAndActiveTrue(@Param("categoryId") UUID categoryId);
-
-    /**
-     * Find featured/popular books (by active status, can be extended with popularity logic)
-     */
-    @Query("SELECT b FROM Book b WHERE b.active = true ORDER BY b.title LIMIT 10")
-    List<Book> findFeaturedBooks();
 }
@@ -0,0 +1,135 @@
+package com.jarothi.spot.jarothispot.catalog;
+
+import com.jarothi.spot.jarothispot.catalog.bulk.ProductBulkUpdateService;
+import com.jarothi.spot.jarothispot.catalog.bulk.ProductImportService;
+import com.jarothi.spot.jarothispot.catalog.dto.BulkUpdateRequestDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.BulkUpdateResultDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.CatalogDTOService;
+import com.jarothi.spot.jarothispot.catalog.dto.CategoryFacetDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ImportJobDTO;
+import com.jarothi.spot.jarothispot.catalog.export.ExportFormat;
+import com.jarothi.spot.jarothispot.catalog.export.ProductExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for catalog administration (bulk operations on the whole catalog)
+ */
+@RestController
+@RequestMapping("/api/admin")
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "bearerAuth")
+public class CatalogAdminController {
+
+    private final ProductExportService exportService;
+    private final ProductImportService importService;
+    private final ProductBulkUpdateService bulkUpdateService;
+    private final CatalogDTOService catalogService;
+
+    public CatalogAdminController(ProductExportService exportService, ProductImportService importService,
+                                  ProductBulkUpdateService bulkUpdateService, CatalogDTOService catalogService) {
+        this.exportService = exportService;
+        this.importService = importService;
+        this.bulkUpdateService = bulkUpdateService;
+        this.catalogService = catalogService;
+    }
+
+    @GetMapping("/products/export")
+    @Tag(name = "Admin")
+    @Operation(
+        summary = "Export active products",
+        description = "Stream every active product as NDJSON or CSV. Rows are written as they are read " +
+                      "from the database, so memory use is constant. Requires ADMIN role."
+    )
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @Parameter(description = "Output format: ndjson (default) or csv")
+            @RequestParam(required = false) String format
+    ) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        StreamingResponseBody body = outputStream -> exportService.export(exportFormat, outputStream);
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("products." + exportFormat.getExtension())
+                .build()
+                .toString())
+            .body(body);
+    }
+
+    @PostMapping("/products/import")
+    @Tag(name = "Admin")
+    @Operation(
+        summary = "Import products",
+        description = "Upsert products from an NDJSON or CSV file in the export format, sent as the request body. " +
+                      "The import runs in the background; poll the returned job for progress and rejected rows. " +
+                      "Requires ADMIN role."
+    )
+    public ResponseEntity<ImportJobDTO> importProducts(
+            @Parameter(description = "Input format: ndjson (default) or csv")
+            @RequestParam(required = false) String format,
+            InputStream content
+    ) throws IOException {
+        ImportJobDTO job = importService.submit(ExportFormat.fromParam(format), content);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/admin/products/import/" + job.id()))
+            .body(job);
+    }
+
+    @GetMapping("/products/import/{jobId}")
+    @Tag(name = "Admin")
+    @Operation(
+        summary = "Get import progress",
+        description = "Progress, outcome and per-row errors of a bulk import. Requires ADMIN role."
+    )
+    public ResponseEntity<ImportJobDTO> getImportJob(
+            @Parameter(description = "Import job ID")
+            @PathVariable UUID jobId
+    ) {
+        return ResponseEntity.ok(importService.getJob(jobId));
+    }
+
+    @PostMapping("/products/bulk")
+    @Tag(name = "Admin")
+    @Operation(
+        summary = "Bulk update products",
+        description = "Change price, stock and/or active of many products at once: send a list of operations " +
+                      "{id, price?, stock?, active?}, or a filter (where: categoryId, productType, active) with one " +
+                      "change (set) for every matching product. Changes are applied in chunked transactions and " +
+                      "each operation gets its own result. Requires ADMIN role."
+    )
+    public ResponseEntity<BulkUpdateResultDTO> bulkUpdateProducts(@RequestBody BulkUpdateRequestDTO request) {
+        return ResponseEntity.ok(bulkUpdateService.apply(request));
+    }
+
+    @GetMapping("/categories/counts")
+    @Tag(name = "Admin")
+    @Operation(
+        summary = "Count active products per category",
+        description = "Every category with its number of active products, zero included. The counts are kept " +
+                      "up to date by the database on every write, so this is one read of a small table. " +
+                      "Requires ADMIN role."
+    )
+    public ResponseEntity<List<CategoryFacetDTO>> getCategoryCounts() {
+        return ResponseEntity.ok(catalogService.getCategoryProductCounts());
+    }
+}
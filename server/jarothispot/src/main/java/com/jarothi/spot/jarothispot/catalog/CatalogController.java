@@ -1,19 +1,32 @@
 package com.jarothi.spot.jarothispot.catalog;
 
+import com.jarothi.spot.jarothispot.catalog.bestseller.BestsellerService;
+import com.jarothi.spot.jarothispot.catalog.bestseller.BestsellerWindow;
+import com.jarothi.spot.jarothispot.catalog.cache.CatalogETags;
 import com.jarothi.spot.jarothispot.catalog.dto.*;
+import com.jarothi.spot.jarothispot.catalog.related.RelatedProductsService;
+import com.jarothi.spot.jarothispot.catalog.search.ProductSearchEngine;
+import com.jarothi.spot.jarothispot.catalog.search.SuggestionService;
+import com.jarothi.spot.jarothispot.catalog.stream.ProductChangeStream;
+import com.jarothi.spot.jarothispot.common.TotalsMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -27,9 +40,24 @@ import java.util.UUID;
 public class CatalogController {
 
     private final CatalogDTOService catalogService;
+    private final CatalogETags catalogETags;
+    private final ProductFacetService facetService;
+    private final SuggestionService suggestionService;
+    private final BestsellerService bestsellerService;
+    private final RelatedProductsService relatedProductsService;
+    private final ProductChangeStream changeStream;
 
-    public CatalogController(CatalogDTOService catalogService) {
+    public CatalogController(CatalogDTOService catalogService, CatalogETags catalogETags,
+                             ProductFacetService facetService, SuggestionService suggestionService,
+                             BestsellerService bestsellerService, RelatedProductsService relatedProductsService,
+                             ProductChangeStream changeStream) {
         this.catalogService = catalogService;
+        this.catalogETags = catalogETags;
+        this.facetService = facetService;
+        this.suggestionService = suggestionService;
+        this.bestsellerService = bestsellerService;
+        this.relatedProductsService = relatedProductsService;
+        this.changeStream = changeStream;
     }
 
     // Products endpoints
@@ -39,7 +67,7 @@ public class CatalogController {
         summary = "Get products with filters",
         description = "Retrieve products with optional filtering by query, category, price range and pagination"
     )
-    public ResponseEntity<Page<ProductDTO>> getProducts(
+    public ResponseEntity<Slice<ProductDTO>> getProducts(
             @Parameter(description = "Text search in title and description")
             @RequestParam(required = false) String q,
             
@@ -58,11 +86,25 @@ public class CatalogController {
             @Parameter(description = "Page size")
             @RequestParam(defaultValue = "20") int size,
             
-            @Parameter(description = "Sort criteria (e.g., 'title,asc' or 'price,desc')")
-            @RequestParam(defaultValue = "title,asc") String sort
+            @Parameter(description = "Sort criteria (e.g., 'title,asc', 'price,desc' or 'relevance'); defaults to relevance with a text search, title otherwise")
+            @RequestParam(required = false) String sort,
+
+            @Parameter(description = "Total count mode: 'exact' (count query), 'estimate' (capped count, e.g. 1000+) or 'none' (no total)")
+            @RequestParam(defaultValue = "exact") String totals,
+
+            WebRequest request
     ) {
-        // Parse sort parameter
-        Sort sortObj = parseSort(sort);
+        String eTag = catalogETags.forRequest("products", request);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        // Parse sort parameter; relevance only means something with a text search
+        boolean hasQuery = q != null && !q.trim().isEmpty();
+        Sort sortObj = parseSort(sort != null ? sort : hasQuery ? ProductSearchEngine.RELEVANCE : "title,asc");
+        if (!hasQuery && ProductSearchEngine.isRelevance(sortObj)) {
+            sortObj = Sort.by("title").ascending();
+        }
         Pageable pageable = PageRequest.of(page, size, sortObj);
         
         // Create filter DTO
@@ -70,8 +112,207 @@ public class CatalogController {
             q, categoryId, null, null, minPrice, maxPrice, true
         );
         
-        Page<ProductDTO> products = catalogService.findProductsWithFilters(filter, pageable);
-        return ResponseEntity.ok(products);
+        Slice<ProductDTO> products = catalogService.findProductsWithFilters(filter, pageable, TotalsMode.fromParam(totals));
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(products);
+    }
+
+    @GetMapping(value = "/products", params = "after")
+    @Tag(name = "Products")
+    @Operation(
+        summary = "Get products with cursor pagination",
+        description = "Keyset paginated variant of the product listing. Pass an empty 'after' for the first page " +
+                      "and the returned 'next' cursor for the following ones. Sorting is limited to title and price."
+    )
+    public ResponseEntity<CursorPageDTO<ProductDTO>> getProductsAfter(
+            @Parameter(description = "Text search in title and description")
+            @RequestParam(required = false) String q,
+
+            @Parameter(description = "Filter by category ID")
+            @RequestParam(required = false) UUID categoryId,
+
+            @Parameter(description = "Minimum price filter")
+            @RequestParam(required = false) BigDecimal minPrice,
+
+            @Parameter(description = "Maximum price filter")
+            @RequestParam(required = false) BigDecimal maxPrice,
+
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page (empty for the first page)")
+            @RequestParam String after,
+
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Sort criteria ('title,asc', 'title,desc', 'price,asc' or 'price,desc')")
+            @RequestParam(defaultValue = "title,asc") String sort,
+
+            WebRequest request
+    ) {
+        String eTag = catalogETags.forRequest("products", request);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        Sort.Order order = parseSort(sort).iterator().next();
+        ProductFilterDTO filter = new ProductFilterDTO(
+            q, categoryId, null, null, minPrice, maxPrice, true
+        );
+
+        CursorPageDTO<ProductDTO> products = catalogService.findProductsAfter(filter, order, after, size);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(products);
+    }
+
+    @GetMapping(value = "/products", params = "ids")
+    @Tag(name = "Products")
+    @Operation(
+        summary = "Get products by ID",
+        description = "Resolve up to " + CatalogDTOService.MAX_PRODUCTS_BY_ID + " products (inactive ones included) " +
+                      "in the requested order; unknown IDs are left out. Served from the per-product cache, " +
+                      "misses are read with a single query."
+    )
+    public ResponseEntity<List<ProductDTO>> getProductsByIds(
+            @Parameter(description = "Comma separated product IDs")
+            @RequestParam List<UUID> ids,
+
+            WebRequest request
+    ) {
+        String eTag = catalogETags.forRequest("products", request);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        List<ProductDTO> products = List.copyOf(catalogService.getProductsByIds(ids).values());
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(products);
+    }
+
+    // Matches both parameters more specifically than either variant, which would otherwise be ambiguous
+    @GetMapping(value = "/products", params = {"after", "ids"})
+    @Operation(hidden = true)
+    public ResponseEntity<Void> rejectCursorWithIds() {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'after' and 'ids' cannot be combined");
+    }
+
+    @GetMapping(value = "/products/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Tag(name = "Products")
+    @Operation(
+        summary = "Stream product changes",
+        description = "Server-Sent Events with the new stock, price and active flag of products changed by " +
+                      "orders and catalog updates, coalesced per product over a short interval. Event IDs can " +
+                      "be sent back as Last-Event-ID to resume; a \"reset\" event means changes were missed " +
+                      "or a bulk import or update changed many products, and listings should be reloaded."
+    )
+    public SseEmitter streamProductChanges(
+            @Parameter(description = "ID of the last event received, to resume after a reconnect")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        return changeStream.subscribe(lastEventId);
+    }
+
+    @GetMapping("/products/{id}")
+    @Tag(name = "Products")
+    @Operation(
+        summary = "Get a product",
+        description = "Product details by ID, inactive products included. Served from the per-product cache."
+    )
+    public ResponseEntity<ProductDTO> getProduct(@PathVariable UUID id, WebRequest request) {
+        String eTag = catalogETags.forRequest("products/" + id, request);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return catalogService.getProductById(id)
+            .map(product -> ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(product))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/products/facets")
+    @Tag(name = "Products")
+    @Operation(
+        summary = "Get facet counts for products",
+        description = "Count the products matching the same filters as the product listing per category " +
+                      "(every category, zero included) and per price bucket, in a single grouped query"
+    )
+    public ResponseEntity<FacetsDTO> getProductFacets(
+            @Parameter(description = "Text search in title and description")
+            @RequestParam(required = false) String q,
+
+            @Parameter(description = "Filter by category ID")
+            @RequestParam(required = false) UUID categoryId,
+
+            @Parameter(description = "Minimum price filter")
+            @RequestParam(required = false) BigDecimal minPrice,
+
+            @Parameter(description = "Maximum price filter")
+            @RequestParam(required = false) BigDecimal maxPrice,
+
+            @Parameter(description = "Ascending price bucket bounds (e.g., '0,10,20,50'); defaults to catalog.facets.price-bounds")
+            @RequestParam(required = false) List<BigDecimal> priceBounds,
+
+            WebRequest request
+    ) {
+        String eTag = catalogETags.forRequest("facets", request);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        ProductFilterDTO filter = new ProductFilterDTO(
+            q, categoryId, null, null, minPrice, maxPrice, true
+        );
+
+        FacetsDTO facets = facetService.getFacets(filter, priceBounds);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(facets);
+    }
+
+    @GetMapping("/products/suggest")
+    @Tag(name = "Products")
+    @Operation(
+        summary = "Typeahead suggestions",
+        description = "Complete a prefix against product titles and category names, most popular first. " +
+                      "Served from memory, without database access."
+    )
+    public ResponseEntity<List<SuggestionDTO>> suggestProducts(
+            @Parameter(description = "Text typed so far; matches the start of the title or of any of its words")
+            @RequestParam String prefix,
+
+            @Parameter(description = "Maximum number of suggestions (capped by catalog.search.suggest-top-k)")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(suggestionService.suggest(prefix, limit));
+    }
+
+    @GetMapping("/products/bestsellers")
+    @Tag(name = "Products")
+    @Operation(
+        summary = "Bestselling products",
+        description = "Active products with the most units sold over a sliding window, optionally within a category. " +
+                      "Served from memory, without database access."
+    )
+    public ResponseEntity<List<ProductDTO>> getBestsellers(
+            @Parameter(description = "Sales window: 24h, 7d (default) or 30d")
+            @RequestParam(required = false) String window,
+
+            @Parameter(description = "Only rank products in this category")
+            @RequestParam(required = false) UUID categoryId,
+
+            @Parameter(description = "Maximum number of products (capped by catalog.bestsellers.top-n)")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(bestsellerService.findBestsellers(BestsellerWindow.fromParam(window), categoryId, limit));
+    }
+
+    @GetMapping("/products/{id}/related")
+    @Tag(name = "Products")
+    @Operation(
+        summary = "Frequently bought together",
+        description = "Active products most often ordered together with the given one, most frequent first. " +
+                      "Empty when the product has not been ordered with any other."
+    )
+    public ResponseEntity<List<ProductDTO>> getRelatedProducts(
+            @PathVariable UUID id,
+
+            @Parameter(description = "Maximum number of products (capped by catalog.related.top-k)")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(relatedProductsService.findRelated(id, limit));
     }
 
     @PostMapping("/products")
@@ -129,15 +370,22 @@ public class CatalogController {
     )
     public ResponseEntity<List<CategoryDTO>> getCategories(
             @Parameter(description = "Filter by category type")
-            @RequestParam(required = false) CategoryType type
+            @RequestParam(required = false) CategoryType type,
+
+            WebRequest request
     ) {
+        String eTag = catalogETags.forRequest("categories", request);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
         List<CategoryDTO> categories;
         if (type != null) {
             categories = catalogService.getCategoriesByType(type);
         } else {
             categories = catalogService.getAllCategories();
         }
-        return ResponseEntity.ok(categories);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(categories);
     }
 
     /**
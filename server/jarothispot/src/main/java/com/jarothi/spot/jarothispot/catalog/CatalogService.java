@@ -57,7 +57,8 @@ public class CatalogService {
     }
 
     public List<Product> findProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        return productRepository.findByPriceBetweenAndActive(minPrice, maxPrice, true);
+        return productRepository.findByPriceBetweenAndActive(
+            ProductSpecifications.lowerPriceBound(minPrice), ProductSpecifications.upperPriceBound(maxPrice), true);
     }
 
     // Advanced filtering using Specifications
@@ -81,18 +82,10 @@ public class CatalogService {
         return bookRepository.findByActiveTrue();
     }
 
-    public List<Book> searchBooks(String query) {
-        return bookRepository.findByQueryAndActive(query, true);
-    }
-
     public List<Book> findBooksByGenre(UUID genreCategoryId) {
         return bookRepository.findByGenreCategoryIdAndActive(genreCategoryId, true);
     }
 
-    public List<Book> findFeaturedBooks() {
-        return bookRepository.findFeaturedBooks();
-    }
-
     // Statistics
     public long countProductsByCategory(UUID categoryId) {
         return productRepository.countByCategoryIdAndActiveTrue(categoryId);
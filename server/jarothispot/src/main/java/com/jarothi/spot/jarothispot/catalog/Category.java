@@ -1,18 +1,23 @@
 package com.jarothi.spot.jarothispot.catalog;
 
+import com.jarothi.spot.jarothispot.common.Ids;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Pattern;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.UUID;
 
 @Entity
 @Table(name = "categories", uniqueConstraints = {
     @UniqueConstraint(name = "uk_categories_name_type", columnNames = {"name", "type"})
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "categories")
 public class Category {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
-    private UUID id = UUID.randomUUID();
+    private UUID id = Ids.next();
 
     @Column(name = "name", nullable = false)
     private String name;
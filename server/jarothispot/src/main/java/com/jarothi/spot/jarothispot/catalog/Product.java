@@ -1,29 +1,37 @@
 package com.jarothi.spot.jarothispot.catalog;
 
+import com.jarothi.spot.jarothispot.common.Ids;
+import com.jarothi.spot.jarothispot.common.Money;
 import jakarta.persistence.*;
-import java.math.BigDecimal;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
 @Entity
 @Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "product_type", discriminatorType = DiscriminatorType.STRING)
 public abstract class Product {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
-    private UUID id = UUID.randomUUID();
+    private UUID id = Ids.next();
 
     @Column(name = "title", nullable = false)
     private String title;
 
+    // TEXT, only shown on listings and the detail page, which read it through projections;
+    // loaded on first access so carts, orders and stock updates skip it
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "description")
     private String description;
 
     @Column(name = "price", nullable = false, precision = 10, scale = 2)
-    private BigDecimal price;
+    private Money price;
 
     @Column(name = "image_url")
     private String imageUrl;
@@ -34,6 +42,7 @@ public abstract class Product {
     @Column(name = "stock", nullable = false)
     private int stock = 0;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-categories")
     @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
         name = "product_categories",
@@ -47,14 +56,14 @@ public abstract class Product {
         // This constructor is intentionally empty. Required by JPA specification.
     }
 
-    protected Product(String title, String description, BigDecimal price) {
+    protected Product(String title, String description, Money price) {
         this.title = title;
         this.description = description;
         this.price = price;
         this.stock = 0; // Default stock
     }
 
-    protected Product(String title, String description, BigDecimal price, int stock) {
+    protected Product(String title, String description, Money price, int stock) {
         this.title = title;
         this.description = description;
         this.price = price;
@@ -86,11 +95,11 @@ public abstract class Product {
         this.description = description;
     }
 
-    public BigDecimal getPrice() {
+    public Money getPrice() {
         return price;
     }
 
-    public void setPrice(BigDecimal price) {
+    public void setPrice(Money price) {
         this.price = price;
     }
 
@@ -1,6 +1,8 @@
 package com.jarothi.spot.jarothispot.catalog;
 
 import jakarta.persistence.LockModeType;
+import com.jarothi.spot.jarothispot.catalog.search.SearchDocument;
+import com.jarothi.spot.jarothispot.common.Money;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
@@ -9,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,6 +19,18 @@ import java.util.UUID;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product> {
 
+    /**
+     * Native text match backed by the search_vector GIN index (full words) and the
+     * pg_trgm indexes (substrings and typos), see V7__add_product_search_indexes.sql
+     */
+    String TEXT_MATCH = "(p.search_vector @@ websearch_to_tsquery('simple', immutable_unaccent(:query)) " +
+        "OR lower(immutable_unaccent(p.title)) LIKE '%' || lower(immutable_unaccent(:query)) || '%' " +
+        "OR lower(immutable_unaccent(coalesce(p.description, ''))) LIKE '%' || lower(immutable_unaccent(:query)) || '%' " +
+        "OR lower(immutable_unaccent(:query)) <% lower(immutable_unaccent(p.title)))";
+
+    String TEXT_RANK = "ts_rank(p.search_vector, websearch_to_tsquery('simple', immutable_unaccent(:query))) DESC, " +
+        "word_similarity(lower(immutable_unaccent(:query)), lower(immutable_unaccent(p.title))) DESC";
+
     /**
      * Find all active products
      */
@@ -31,7 +46,7 @@ public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpec
      * Find products by price range and active status
      */
     @Query("SELECT p FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice AND p.active = :active ORDER BY p.price")
-    List<Product> findByPriceBetweenAndActive(@Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice, @Param("active") boolean active);
+    List<Product> findByPriceBetweenAndActive(@Param("minPrice") Money minPrice, @Param("maxPrice") Money maxPrice, @Param("active") boolean active);
 
     /**
      * Find products by category and active status
@@ -40,21 +55,32 @@ public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpec
     List<Product> findByCategoryIdAndActive(@Param("categoryId") UUID categoryId, @Param("active") boolean active);
 
     /**
-     * Find products with text search in title and description
+     * Find products with text search in title and description, most relevant first
      */
-    @Query("SELECT p FROM Product p WHERE (LOWER(p.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%'))) AND p.active = :active ORDER BY p.title")
+    @Query(value = "SELECT p.* FROM products p WHERE p.active = :active AND " + TEXT_MATCH +
+           " ORDER BY " + TEXT_RANK + ", p.title",
+           nativeQuery = true)
     List<Product> findByQueryAndActive(@Param("query") String query, @Param("active") boolean active);
 
+    /**
+     * Find the IDs of active products matching a text search, most relevant first
+     */
+    @Query(value = "SELECT p.id FROM products p WHERE p.active = true AND " + TEXT_MATCH +
+           " ORDER BY " + TEXT_RANK + " LIMIT :limit",
+           nativeQuery = true)
+    List<UUID> searchActiveIds(@Param("query") String query, @Param("limit") int limit);
+
     /**
      * Complex search with all filters
      */
-    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN p.categories c " +
-           "WHERE (:query IS NULL OR LOWER(p.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%'))) " +
-           "AND (:categoryId IS NULL OR c.id = :categoryId) " +
-           "AND (:minPrice IS NULL OR p.price >= :minPrice) " +
-           "AND (:maxPrice IS NULL OR p.price <= :maxPrice) " +
+    @Query(value = "SELECT p.* FROM products p " +
+           "WHERE (CAST(:query AS text) IS NULL OR " + TEXT_MATCH + ") " +
+           "AND (CAST(:categoryId AS uuid) IS NULL OR EXISTS (SELECT 1 FROM product_categories pc WHERE pc.product_id = p.id AND pc.category_id = :categoryId)) " +
+           "AND (CAST(:minPrice AS numeric) IS NULL OR p.price >= :minPrice) " +
+           "AND (CAST(:maxPrice AS numeric) IS NULL OR p.price <= :maxPrice) " +
            "AND p.active = :active " +
-           "ORDER BY p.title")
+           "ORDER BY p.title",
+           nativeQuery = true)
     List<Product> findWithFilters(@Param("query") String query,
                                   @Param("categoryId") UUID categoryId,
                                   @Param("minPrice") BigDecimal minPrice,
@@ -62,11 +88,104 @@ public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpec
                                   @Param("active") boolean active);
 
     /**
-     * Count products by category
+     * Facet counts in one pass over the filtered products, using GROUPING SETS:
+     * per category, per price bucket (width_bucket over the ascending :priceBounds array)
+     * and the overall total. Each row is (grouping_set, category_id, bucket, count) where
+     * grouping_set is 1 for category rows, 2 for bucket rows and 3 for the total.
+     * The text filter is either :productIds, a uuid[] literal of the matches found by an in-memory
+     * search engine, or :query, matched here with TEXT_MATCH; both are null without a text filter.
+     */
+    @Query(value = "WITH matched AS (" +
+           "  SELECT p.id, p.price FROM products p " +
+           "  WHERE p.active = :active " +
+           "  AND (CAST(:productIds AS text) IS NULL OR p.id = ANY(CAST(:productIds AS uuid[]))) " +
+           "  AND (CAST(:query AS text) IS NULL OR " + TEXT_MATCH + ") " +
+           "  AND (CAST(:categoryId AS uuid) IS NULL OR EXISTS (SELECT 1 FROM product_categories pc WHERE pc.product_id = p.id AND pc.category_id = :categoryId)) " +
+           "  AND (CAST(:productType AS text) IS NULL OR p.product_type = :productType) " +
+           "  AND (CAST(:minPrice AS numeric) IS NULL OR p.price >= :minPrice) " +
+           "  AND (CAST(:maxPrice AS numeric) IS NULL OR p.price <= :maxPrice)" +
+           "), linked AS (" +
+           "  SELECT m.id, pc.category_id, width_bucket(m.price, CAST(:priceBounds AS numeric[])) AS bucket " +
+           "  FROM matched m LEFT JOIN product_categories pc ON pc.product_id = m.id" +
+           ") " +
+           "SELECT GROUPING(category_id, bucket) AS grouping_set, category_id, bucket, COUNT(DISTINCT id) AS count " +
+           "FROM linked GROUP BY GROUPING SETS ((category_id), (bucket), ())",
+           nativeQuery = true)
+    List<Object[]> countFacets(@Param("productIds") String productIds,
+                               @Param("query") String query,
+                               @Param("categoryId") UUID categoryId,
+                               @Param("productType") String productType,
+                               @Param("minPrice") BigDecimal minPrice,
+                               @Param("maxPrice") BigDecimal maxPrice,
+                               @Param("active") boolean active,
+                               @Param("priceBounds") String priceBounds);
+
+    /**
+     * Collation of the current database, which orders text columns declared without one
      */
-    @Query("SELECT COUNT(DISTINCT p) FROM Product p JOIN p.categories c WHERE c.id = :categoryId AND p.active = true")
+    @Query(value = "SELECT datcollate FROM pg_database WHERE datname = current_database()", nativeQuery = true)
+    String findDatabaseCollation();
+
+    /**
+     * Number of active products in a category, read from the counters kept by triggers (V12)
+     */
+    @Query(value = "SELECT COALESCE((SELECT active_products FROM product_category_counts WHERE category_id = :categoryId), 0)",
+           nativeQuery = true)
     long countByCategoryIdAndActiveTrue(@Param("categoryId") UUID categoryId);
 
+    /**
+     * Find the searchable text of all active products
+     */
+    @Query("SELECT new com.jarothi.spot.jarothispot.catalog.search.SearchDocument(p.id, p.title, p.description) FROM Product p WHERE p.active = true")
+    List<SearchDocument> findActiveSearchDocuments();
+
+    /**
+     * Find the searchable text of a product if it is active
+     */
+    @Query("SELECT new com.jarothi.spot.jarothispot.catalog.search.SearchDocument(p.id, p.title, p.description) FROM Product p WHERE p.id = :id AND p.active = true")
+    Optional<SearchDocument> findActiveSearchDocumentById(@Param("id") UUID id);
+
+    /**
+     * Units sold per product, as (product_id, units) rows
+     */
+    @Query(value = "SELECT oi.product_id, SUM(oi.quantity) FROM order_items oi GROUP BY oi.product_id", nativeQuery = true)
+    List<Object[]> sumUnitsSoldByProduct();
+
+    /**
+     * Units sold per product of the given products, as (product_id, units) rows; products
+     * never sold are left out
+     */
+    @Query(value = "SELECT oi.product_id, SUM(oi.quantity) FROM order_items oi WHERE oi.product_id IN (:productIds) GROUP BY oi.product_id",
+           nativeQuery = true)
+    List<Object[]> sumUnitsSoldByProductIn(@Param("productIds") Collection<UUID> productIds);
+
+    /**
+     * Units sold of one product
+     */
+    @Query(value = "SELECT COALESCE(SUM(oi.quantity), 0) FROM order_items oi WHERE oi.product_id = :productId", nativeQuery = true)
+    long sumUnitsSold(@Param("productId") UUID productId);
+
+    /**
+     * Category links of all active products, as (product ID, category ID) rows
+     */
+    @Query(value = "SELECT pc.product_id, pc.category_id FROM product_categories pc "
+                 + "JOIN products p ON p.id = pc.product_id WHERE p.active = true", nativeQuery = true)
+    List<Object[]> findActiveCategoryLinks();
+
+    /**
+     * IDs of the categories a product belongs to
+     */
+    @Query(value = "SELECT pc.category_id FROM product_categories pc WHERE pc.product_id = :productId", nativeQuery = true)
+    List<UUID> findCategoryIdsByProductId(@Param("productId") UUID productId);
+
+    /**
+     * Number of active products per category, as (category ID, count) rows; categories
+     * without active products are left out
+     */
+    @Query(value = "SELECT category_id, active_products FROM product_category_counts WHERE active_products > 0",
+           nativeQuery = true)
+    List<Object[]> countActiveByCategory();
+
     /**
      * Find product by ID with pessimistic write lock for stock updates
      */
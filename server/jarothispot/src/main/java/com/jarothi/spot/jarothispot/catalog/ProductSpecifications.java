@@ -1,12 +1,20 @@
 package com.jarothi.spot.jarothispot.catalog;
 
+import com.jarothi.spot.jarothispot.common.Money;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -50,6 +58,33 @@ public class ProductSpecifications {
         };
     }
 
+    /**
+     * Filter by a set of product IDs, typically resolved by a search engine
+     */
+    public static Specification<Product> hasIdIn(Collection<UUID> ids) {
+        return (root, criteriaQuery, criteriaBuilder) -> {
+            if (ids.isEmpty()) {
+                return criteriaBuilder.disjunction();
+            }
+            return root.get(ID_FIELD).in(ids);
+        };
+    }
+
+    /**
+     * Filter by a possibly large set of product IDs, bound as one uuid[] parameter
+     * (id = any(?)) instead of one bind parameter per ID
+     */
+    public static Specification<Product> hasIdInArray(Collection<UUID> ids) {
+        return (root, criteriaQuery, criteriaBuilder) -> {
+            if (ids.isEmpty()) {
+                return criteriaBuilder.disjunction();
+            }
+            HibernateCriteriaBuilder builder = (HibernateCriteriaBuilder) criteriaBuilder;
+            return builder.isTrue(builder.sql("? = any(?)", Boolean.class,
+                root.get(ID_FIELD), builder.value(ids.toArray(UUID[]::new))));
+        };
+    }
+
     /**
      * Filter by category ID
      */
@@ -58,12 +93,17 @@ public class ProductSpecifications {
             if (categoryId == null) {
                 return criteriaBuilder.conjunction();
             }
-            // Ensure distinct results for many-to-many relationship
-            if (criteriaQuery != null) {
-                criteriaQuery.distinct(true);
+            if (criteriaQuery == null) {
+                Join<Product, Category> categoryJoin = root.join(CATEGORIES_FIELD, JoinType.INNER);
+                return criteriaBuilder.equal(categoryJoin.get(ID_FIELD), categoryId);
             }
-            Join<Product, Category> categoryJoin = root.join(CATEGORIES_FIELD, JoinType.INNER);
-            return criteriaBuilder.equal(categoryJoin.get(ID_FIELD), categoryId);
+            // EXISTS instead of a join: no duplicate rows, so no DISTINCT on the page or count queries
+            Subquery<UUID> categoryLink = criteriaQuery.subquery(UUID.class);
+            Root<Product> linkedProduct = categoryLink.correlate(root);
+            Join<Product, Category> categoryJoin = linkedProduct.join(CATEGORIES_FIELD, JoinType.INNER);
+            categoryLink.select(categoryJoin.get(ID_FIELD))
+                .where(criteriaBuilder.equal(categoryJoin.get(ID_FIELD), categoryId));
+            return criteriaBuilder.exists(categoryLink);
         };
     }
 
@@ -75,7 +115,7 @@ public class ProductSpecifications {
             if (minPrice == null) {
                 return criteriaBuilder.conjunction();
             }
-            return criteriaBuilder.greaterThanOrEqualTo(root.get(PRICE_FIELD), minPrice);
+            return criteriaBuilder.greaterThanOrEqualTo(root.get(PRICE_FIELD), lowerPriceBound(minPrice));
         };
     }
 
@@ -87,7 +127,7 @@ public class ProductSpecifications {
             if (maxPrice == null) {
                 return criteriaBuilder.conjunction();
             }
-            return criteriaBuilder.lessThanOrEqualTo(root.get(PRICE_FIELD), maxPrice);
+            return criteriaBuilder.lessThanOrEqualTo(root.get(PRICE_FIELD), upperPriceBound(maxPrice));
         };
     }
 
@@ -99,17 +139,47 @@ public class ProductSpecifications {
             List<Predicate> predicates = new ArrayList<>();
             
             if (minPrice != null) {
-                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get(PRICE_FIELD), minPrice));
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get(PRICE_FIELD), lowerPriceBound(minPrice)));
             }
             
             if (maxPrice != null) {
-                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get(PRICE_FIELD), maxPrice));
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get(PRICE_FIELD), upperPriceBound(maxPrice)));
             }
             
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
 
+    /**
+     * Keyset filter: products strictly after (sortValue, id) in the given sort direction.
+     * Written as "key >= value AND (key > value OR id > lastId)" so the leading bound can
+     * seek the (active, key, id) indexes instead of scanning every earlier row.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Product> isAfter(String property, Sort.Direction direction,
+                                                 Comparable sortValue, UUID lastId) {
+        return (root, criteriaQuery, criteriaBuilder) -> {
+            Path<Comparable> sortPath = root.get(property);
+            Path<UUID> idPath = root.get(ID_FIELD);
+            if (direction.isAscending()) {
+                return criteriaBuilder.and(
+                    criteriaBuilder.greaterThanOrEqualTo(sortPath, sortValue),
+                    criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(sortPath, sortValue),
+                        criteriaBuilder.greaterThan(idPath, lastId)
+                    )
+                );
+            }
+            return criteriaBuilder.and(
+                criteriaBuilder.lessThanOrEqualTo(sortPath, sortValue),
+                criteriaBuilder.or(
+                    criteriaBuilder.lessThan(sortPath, sortValue),
+                    criteriaBuilder.lessThan(idPath, lastId)
+                )
+            );
+        };
+    }
+
     /**
      * Filter by product type
      */
@@ -131,6 +201,20 @@ public class ProductSpecifications {
                 .and(hasMaxPrice(maxPrice));
     }
 
+    /**
+     * Smallest price in cents that satisfies price >= minPrice
+     */
+    public static Money lowerPriceBound(BigDecimal minPrice) {
+        return Money.of(minPrice, RoundingMode.CEILING);
+    }
+
+    /**
+     * Largest price in cents that satisfies price <= maxPrice
+     */
+    public static Money upperPriceBound(BigDecimal maxPrice) {
+        return Money.of(maxPrice, RoundingMode.FLOOR);
+    }
+
     /**
      * Filter for books only
      */
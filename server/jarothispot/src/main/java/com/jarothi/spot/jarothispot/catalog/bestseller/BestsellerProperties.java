@@ -0,0 +1,19 @@
+package com.jarothi.spot.jarothispot.catalog.bestseller;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.bestsellers")
+public class BestsellerProperties {
+    // Products ranked per window, and per window and category
+    private int topN = 10;
+    // Longest delay between an order or product change and the rankings reflecting it
+    private Duration recomputeInterval = Duration.ofSeconds(1);
+
+    // Getters and setters
+    public int getTopN() { return topN; }
+    public void setTopN(int topN) { this.topN = topN; }
+    public Duration getRecomputeInterval() { return recomputeInterval; }
+    public void setRecomputeInterval(Duration recomputeInterval) { this.recomputeInterval = recomputeInterval; }
+}
@@ -0,0 +1,81 @@
+package com.jarothi.spot.jarothispot.catalog.bestseller;
+
+import com.jarothi.spot.jarothispot.catalog.dto.CategoryDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable top-N lists per window, overall and per category, ready to be served.
+ * Inactive products and products that could not be loaded are skipped.
+ */
+final class BestsellerRankings {
+
+    private static final BestsellerRankings EMPTY = new BestsellerRankings(Map.of(), Map.of());
+
+    private final Map<BestsellerWindow, List<ProductDTO>> overall;
+    private final Map<BestsellerWindow, Map<UUID, List<ProductDTO>>> byCategory;
+
+    private BestsellerRankings(Map<BestsellerWindow, List<ProductDTO>> overall,
+                               Map<BestsellerWindow, Map<UUID, List<ProductDTO>>> byCategory) {
+        this.overall = overall;
+        this.byCategory = byCategory;
+    }
+
+    static BestsellerRankings empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Rank the window totals, most units first and then by product ID for a stable order
+     */
+    static BestsellerRankings of(SalesWindows sales, Map<UUID, ProductDTO> products, int topN) {
+        Map<BestsellerWindow, List<ProductDTO>> overall = new EnumMap<>(BestsellerWindow.class);
+        Map<BestsellerWindow, Map<UUID, List<ProductDTO>>> byCategory = new EnumMap<>(BestsellerWindow.class);
+
+        for (BestsellerWindow window : BestsellerWindow.values()) {
+            List<Map.Entry<UUID, Long>> ranked = new ArrayList<>(sales.totals(window).entrySet());
+            ranked.sort(Map.Entry.<UUID, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+
+            List<ProductDTO> top = new ArrayList<>(topN);
+            Map<UUID, List<ProductDTO>> topByCategory = new HashMap<>();
+            for (Map.Entry<UUID, Long> entry : ranked) {
+                ProductDTO product = products.get(entry.getKey());
+                if (product == null || !product.active()) {
+                    continue;
+                }
+                if (top.size() < topN) {
+                    top.add(product);
+                }
+                for (CategoryDTO category : product.categories()) {
+                    List<ProductDTO> categoryTop = topByCategory.computeIfAbsent(category.id(), id -> new ArrayList<>());
+                    if (categoryTop.size() < topN) {
+                        categoryTop.add(product);
+                    }
+                }
+            }
+
+            overall.put(window, List.copyOf(top));
+            topByCategory.replaceAll((id, categoryTop) -> List.copyOf(categoryTop));
+            byCategory.put(window, Map.copyOf(topByCategory));
+        }
+        return new BestsellerRankings(overall, byCategory);
+    }
+
+    /**
+     * Up to limit bestsellers of the window, within one category when categoryId is not null
+     */
+    List<ProductDTO> top(BestsellerWindow window, UUID categoryId, int limit) {
+        List<ProductDTO> top = categoryId == null
+            ? overall.getOrDefault(window, List.of())
+            : byCategory.getOrDefault(window, Map.of()).getOrDefault(categoryId, List.of());
+        return top.size() <= limit ? top : top.subList(0, Math.max(0, limit));
+    }
+}
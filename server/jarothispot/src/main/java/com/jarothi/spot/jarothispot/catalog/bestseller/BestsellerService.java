@@ -0,0 +1,236 @@
+package com.jarothi.spot.jarothispot.catalog.bestseller;
+
+import com.jarothi.spot.jarothispot.catalog.ProductSpecifications;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTOReader;
+import com.jarothi.spot.jarothispot.catalog.event.CatalogImportedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.CategoryChangedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductChangedEvent;
+import com.jarothi.spot.jarothispot.order.event.OrderPlacedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bestseller rankings by units sold over the last 24 hours, 7 days and 30 days.
+ *
+ * Checkout upserts its units into the hourly product_sales_hourly summary inside the order
+ * transaction. Once the order commits, the same units are added to the in-memory
+ * {@link SalesWindows} and the rankings are marked stale; the top-N lists are recomputed at
+ * most once per recompute interval, and every hour the windows slide forward. Only the summary rows of the last 30 days are read, once at startup; the order
+ * history is never re-aggregated and reads never touch the database.
+ */
+@Service
+public class BestsellerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BestsellerService.class);
+
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    private static final String UPSERT_SALES = """
+        INSERT INTO product_sales_hourly (bucket_start, product_id, units)
+        VALUES (?, ?, ?)
+        ON CONFLICT (bucket_start, product_id) DO UPDATE SET units = product_sales_hourly.units + EXCLUDED.units
+        """;
+
+    private static final String RECENT_SALES =
+        "SELECT bucket_start, product_id, units FROM product_sales_hourly WHERE bucket_start > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductDTOReader productReader;
+    private final BestsellerProperties properties;
+
+    // Guarded by this: sales of the longest window and the products they refer to
+    private SalesWindows sales = new SalesWindows(currentHour());
+    private final Map<UUID, ProductDTO> products = new HashMap<>();
+    private boolean stale;
+    private volatile BestsellerRankings rankings = BestsellerRankings.empty();
+
+    public BestsellerService(JdbcTemplate jdbcTemplate,
+                             ProductDTOReader productReader,
+                             BestsellerProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.productReader = productReader;
+        this.properties = properties;
+    }
+
+    /**
+     * Up to limit best selling active products of the window, optionally within one category
+     */
+    public List<ProductDTO> findBestsellers(BestsellerWindow window, UUID categoryId, int limit) {
+        return rankings.top(window, categoryId, Math.min(limit, properties.getTopN()));
+    }
+
+    /**
+     * Load the summary rows of the longest window and the products they refer to
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long hour = currentHour();
+        SalesWindows loaded = new SalesWindows(hour);
+        Instant since = toInstant(hour - BestsellerWindow.longest().getHours());
+        jdbcTemplate.query(RECENT_SALES, resultSet -> {
+            loaded.add(toHour(resultSet.getObject("bucket_start", OffsetDateTime.class).toInstant()),
+                resultSet.getObject("product_id", UUID.class), resultSet.getLong("units"));
+        }, Timestamp.from(since));
+        Map<UUID, ProductDTO> loadedProducts = findProducts(loaded.totals(BestsellerWindow.longest()).keySet());
+
+        synchronized (this) {
+            sales = loaded;
+            products.clear();
+            products.putAll(loadedProducts);
+            recompute();
+        }
+        logger.info("Bestseller rankings built from {} products sold in the last {} hours",
+            loadedProducts.size(), BestsellerWindow.longest().getHours());
+    }
+
+    /**
+     * Record the order's units in the hourly summary, in the checkout transaction
+     */
+    @EventListener
+    public void recordSales(OrderPlacedEvent event) {
+        Timestamp bucket = Timestamp.from(toInstant(toHour(event.placedAt())));
+        List<Object[]> rows = new ArrayList<>(event.unitsByProduct().size());
+        event.unitsByProduct().forEach((productId, units) -> rows.add(new Object[]{bucket, productId, units}));
+        jdbcTemplate.batchUpdate(UPSERT_SALES, rows);
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        Set<UUID> missing;
+        synchronized (this) {
+            missing = new HashSet<>(event.unitsByProduct().keySet());
+            missing.removeAll(products.keySet());
+        }
+        Map<UUID, ProductDTO> loaded = findProducts(missing);
+
+        synchronized (this) {
+            long hour = toHour(event.placedAt());
+            event.unitsByProduct().forEach((productId, units) -> sales.add(hour, productId, units));
+            products.putAll(loaded);
+            stale = true;
+        }
+    }
+
+    /**
+     * Slide the windows forward at the start of every hour
+     */
+    @Scheduled(cron = "0 0 * * * *")
+    public synchronized void advance() {
+        sales.advanceTo(currentHour());
+        products.keySet().retainAll(sales.totals(BestsellerWindow.longest()).keySet());
+        recompute();
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (this) {
+            if (!products.containsKey(event.productId())) {
+                return;
+            }
+        }
+        Map<UUID, ProductDTO> loaded = event.changeType() == ProductChangedEvent.ChangeType.DELETED
+            ? Map.of()
+            : findProducts(List.of(event.productId()));
+
+        synchronized (this) {
+            products.remove(event.productId());
+            products.putAll(loaded);
+            stale = true;
+        }
+    }
+
+    // Category names, and after an import prices and flags, are part of the ranked products
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        reloadProducts();
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @Transactional(readOnly = true)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        reloadProducts();
+    }
+
+    private void reloadProducts() {
+        Set<UUID> productIds;
+        synchronized (this) {
+            productIds = new HashSet<>(products.keySet());
+        }
+        Map<UUID, ProductDTO> loaded = findProducts(productIds);
+
+        synchronized (this) {
+            products.clear();
+            products.putAll(loaded);
+            stale = true;
+        }
+    }
+
+    /**
+     * Recompute the top-N lists if orders or product changes arrived since the last run
+     */
+    @Scheduled(fixedDelayString = "${catalog.bestsellers.recompute-interval:1s}")
+    public synchronized void recomputeIfStale() {
+        if (stale) {
+            recompute();
+        }
+    }
+
+    private void recompute() {
+        stale = false;
+        rankings = BestsellerRankings.of(sales, products, properties.getTopN());
+    }
+
+    private Map<UUID, ProductDTO> findProducts(Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, ProductDTO> found = new HashMap<>();
+        for (ProductDTO product : productReader.findAll(ProductSpecifications.hasIdIn(productIds), Sort.unsorted())) {
+            found.put(product.id(), product);
+        }
+        return found;
+    }
+
+    private static long currentHour() {
+        return toHour(Instant.now());
+    }
+
+    private static long toHour(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), SECONDS_PER_HOUR);
+    }
+
+    private static Instant toInstant(long hour) {
+        return Instant.ofEpochSecond(hour * SECONDS_PER_HOUR);
+    }
+}
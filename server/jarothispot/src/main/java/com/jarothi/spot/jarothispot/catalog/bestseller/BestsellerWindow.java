@@ -0,0 +1,44 @@
+package com.jarothi.spot.jarothispot.catalog.bestseller;
+
+/**
+ * Sliding time window over which units sold are ranked
+ */
+public enum BestsellerWindow {
+    DAY("24h", 24),
+    WEEK("7d", 7 * 24),
+    MONTH("30d", 30 * 24);
+
+    private final String param;
+    private final int hours;
+
+    BestsellerWindow(String param, int hours) {
+        this.param = param;
+        this.hours = hours;
+    }
+
+    public int getHours() {
+        return hours;
+    }
+
+    /**
+     * The longest window, which bounds how much sales history is kept in memory
+     */
+    static BestsellerWindow longest() {
+        return MONTH;
+    }
+
+    /**
+     * Parse the value of a ?window= request parameter (24h, 7d or 30d)
+     */
+    public static BestsellerWindow fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return WEEK;
+        }
+        for (BestsellerWindow window : values()) {
+            if (window.param.equalsIgnoreCase(value.trim())) {
+                return window;
+            }
+        }
+        throw new IllegalArgumentException("Invalid window: " + value + " (expected 24h, 7d or 30d)");
+    }
+}
@@ -0,0 +1,84 @@
+package com.jarothi.spot.jarothispot.catalog.bestseller;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Units sold per product over each {@link BestsellerWindow}, maintained incrementally.
+ *
+ * Sales are kept in hourly buckets (epoch hours) covering the longest window. Adding a sale
+ * adds to its bucket and to the total of every window containing it; advancing the clock
+ * subtracts the buckets that slid out of each window, so totals never need a full re-sum.
+ * Not thread safe.
+ */
+final class SalesWindows {
+
+    private final NavigableMap<Long, Map<UUID, Long>> buckets = new TreeMap<>();
+    private final Map<BestsellerWindow, Map<UUID, Long>> totals = new EnumMap<>(BestsellerWindow.class);
+    private long currentHour;
+
+    SalesWindows(long currentHour) {
+        this.currentHour = currentHour;
+        for (BestsellerWindow window : BestsellerWindow.values()) {
+            totals.put(window, new HashMap<>());
+        }
+    }
+
+    long currentHour() {
+        return currentHour;
+    }
+
+    /**
+     * Record units sold in the given hour; sales older than the longest window are ignored
+     */
+    void add(long hour, UUID productId, long units) {
+        if (hour > currentHour) {
+            advanceTo(hour);
+        }
+        if (!contains(BestsellerWindow.longest(), hour)) {
+            return;
+        }
+        buckets.computeIfAbsent(hour, key -> new HashMap<>()).merge(productId, units, Long::sum);
+        for (BestsellerWindow window : BestsellerWindow.values()) {
+            if (contains(window, hour)) {
+                totals.get(window).merge(productId, units, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Move the clock forward, evicting the buckets that leave each window
+     */
+    void advanceTo(long hour) {
+        if (hour <= currentHour) {
+            return;
+        }
+        for (BestsellerWindow window : BestsellerWindow.values()) {
+            // Buckets in (oldest of the old window, oldest of the new window) slide out
+            Map<UUID, Long> windowTotals = totals.get(window);
+            for (Map<UUID, Long> bucket : buckets.subMap(
+                    currentHour - window.getHours(), false, hour - window.getHours(), true).values()) {
+                bucket.forEach((productId, units) -> windowTotals.computeIfPresent(productId,
+                    (id, total) -> total - units == 0 ? null : total - units));
+            }
+        }
+        buckets.headMap(hour - BestsellerWindow.longest().getHours(), true).clear();
+        currentHour = hour;
+    }
+
+    /**
+     * Units sold per product within the window, as a read-only view
+     */
+    Map<UUID, Long> totals(BestsellerWindow window) {
+        return Collections.unmodifiableMap(totals.get(window));
+    }
+
+    private boolean contains(BestsellerWindow window, long hour) {
+        return hour > currentHour - window.getHours();
+    }
+}
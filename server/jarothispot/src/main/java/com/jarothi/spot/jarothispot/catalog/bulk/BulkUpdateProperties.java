@@ -0,0 +1,18 @@
+package com.jarothi.spot.jarothispot.catalog.bulk;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "catalog.bulk-update")
+public class BulkUpdateProperties {
+    // Products changed per UPDATE statement and per transaction
+    private int chunkSize = 1000;
+    // Largest number of operations (or filter matches) accepted per request
+    private int maxOperations = 10000;
+
+    // Getters and setters
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+
+    public int getMaxOperations() { return maxOperations; }
+    public void setMaxOperations(int maxOperations) { this.maxOperations = maxOperations; }
+}
@@ -0,0 +1,84 @@
+package com.jarothi.spot.jarothispot.catalog.bulk;
+
+import com.jarothi.spot.jarothispot.catalog.dto.ImportErrorDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ImportJobDTO;
+import com.jarothi.spot.jarothispot.catalog.export.ExportFormat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mutable progress of one import, written by the worker thread and read by status requests
+ */
+final class ImportJob {
+
+    private final UUID id = UUID.randomUUID();
+    private final ExportFormat format;
+    private final int maxErrors;
+    private final Instant submittedAt = Instant.now();
+    private final List<ImportErrorDTO> errors = new ArrayList<>();
+
+    private ImportJobDTO.Status status = ImportJobDTO.Status.QUEUED;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private String message;
+    private Instant finishedAt;
+
+    ImportJob(ExportFormat format, int maxErrors) {
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    UUID getId() {
+        return id;
+    }
+
+    synchronized boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    synchronized long getImportedRows() {
+        return importedRows;
+    }
+
+    synchronized void start() {
+        status = ImportJobDTO.Status.RUNNING;
+    }
+
+    synchronized void rowRead() {
+        processedRows++;
+    }
+
+    synchronized void rowsImported(int count) {
+        importedRows += count;
+    }
+
+    synchronized void rowFailed(long row, String reason) {
+        failedRows++;
+        if (errors.size() < maxErrors) {
+            errors.add(new ImportErrorDTO(row, reason));
+        }
+    }
+
+    synchronized void complete() {
+        finish(ImportJobDTO.Status.COMPLETED, null);
+    }
+
+    synchronized void abort(String reason) {
+        finish(ImportJobDTO.Status.FAILED, reason);
+    }
+
+    private void finish(ImportJobDTO.Status finalStatus, String reason) {
+        status = finalStatus;
+        message = reason;
+        finishedAt = Instant.now();
+    }
+
+    synchronized ImportJobDTO toDTO() {
+        return new ImportJobDTO(id, format.name(), status, processedRows, importedRows, failedRows,
+            List.copyOf(errors), message, submittedAt, finishedAt);
+    }
+}
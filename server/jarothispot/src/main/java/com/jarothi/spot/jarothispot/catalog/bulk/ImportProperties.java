@@ -0,0 +1,23 @@
+package com.jarothi.spot.jarothispot.catalog.bulk;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "catalog.import")
+public class ImportProperties {
+    // Rows written per JDBC batch and per transaction
+    private int chunkSize = 1000;
+    // Rejected rows reported per job; further errors are only counted
+    private int maxErrors = 1000;
+    // Finished jobs kept for status queries
+    private int retainedJobs = 20;
+
+    // Getters and setters
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+
+    public int getMaxErrors() { return maxErrors; }
+    public void setMaxErrors(int maxErrors) { this.maxErrors = maxErrors; }
+
+    public int getRetainedJobs() { return retainedJobs; }
+    public void setRetainedJobs(int retainedJobs) { this.retainedJobs = retainedJobs; }
+}
@@ -0,0 +1,178 @@
+package com.jarothi.spot.jarothispot.catalog.bulk;
+
+import com.jarothi.spot.jarothispot.catalog.dto.BulkUpdateRequestDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.BulkUpdateResultDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductPatchDTO;
+import com.jarothi.spot.jarothispot.catalog.event.CatalogImportedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductsWrittenEvent;
+import com.jarothi.spot.jarothispot.datasource.ReadRouting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk price, stock and active changes for many products at once.
+ *
+ * Operations are validated one by one; the valid ones are applied by
+ * {@link ProductBulkUpdateWriter} in chunks of catalog.bulk-update.chunk-size, each a single
+ * UPDATE statement in its own transaction, and every operation gets its own result. A filter
+ * request first reads the IDs of the matching products and then applies the same change to
+ * each of them the same way. Like imports, no per-product events are sent: each committed
+ * chunk publishes a {@link ProductsWrittenEvent} for the caches, and one
+ * {@link CatalogImportedEvent} is published once everything has been written.
+ */
+@Service
+public class ProductBulkUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductBulkUpdateService.class);
+
+    private final ProductBulkUpdateWriter writer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BulkUpdateProperties properties;
+
+    public ProductBulkUpdateService(ProductBulkUpdateWriter writer,
+                                    ApplicationEventPublisher eventPublisher,
+                                    BulkUpdateProperties properties) {
+        this.writer = writer;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    /**
+     * Apply a list of operations, or one change to every product matching a filter
+     *
+     * @throws IllegalArgumentException if the request itself is malformed or too large
+     */
+    public BulkUpdateResultDTO apply(BulkUpdateRequestDTO request) {
+        boolean byOperations = request.operations() != null;
+        boolean byFilter = request.where() != null || request.set() != null;
+        if (byOperations == byFilter) {
+            throw new IllegalArgumentException("Send either operations, or where and set");
+        }
+
+        List<ProductPatchDTO> operations = byOperations ? request.operations() : matching(request);
+        if (operations.size() > properties.getMaxOperations()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxOperations()
+                + " operations are accepted per request");
+        }
+
+        UUID id = UUID.randomUUID();
+        BulkUpdateResultDTO.Item[] results = new BulkUpdateResultDTO.Item[operations.size()];
+        List<ProductBulkUpdateWriter.ProductPatch> chunk = new ArrayList<>(properties.getChunkSize());
+        List<Integer> positions = new ArrayList<>(properties.getChunkSize());
+        Set<UUID> seen = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            ProductPatchDTO operation = operations.get(i);
+            UUID productId = operation == null ? null : operation.id();
+            try {
+                ProductBulkUpdateWriter.ProductPatch patch = validate(operation);
+                if (!seen.add(patch.id())) {
+                    throw new IllegalArgumentException("Duplicate product ID in request");
+                }
+                chunk.add(patch);
+                positions.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = new BulkUpdateResultDTO.Item(productId, BulkUpdateResultDTO.Status.INVALID, e.getMessage());
+            }
+            if (chunk.size() == properties.getChunkSize()) {
+                flush(chunk, positions, results);
+            }
+        }
+        flush(chunk, positions, results);
+
+        int updated = 0;
+        for (BulkUpdateResultDTO.Item result : results) {
+            if (result.status() == BulkUpdateResultDTO.Status.UPDATED) {
+                updated++;
+            }
+        }
+        logger.info("Bulk update {}: {} operations, {} products updated", id, results.length, updated);
+        if (updated > 0) {
+            // Reloads must not hit a replica that has not replayed the chunks yet
+            CatalogImportedEvent event = new CatalogImportedEvent(id, updated);
+            ReadRouting.onPrimary(() -> eventPublisher.publishEvent(event));
+        }
+        return new BulkUpdateResultDTO(id, results.length, updated, results.length - updated, List.of(results));
+    }
+
+    // The filter's change as one operation per matching product
+    private List<ProductPatchDTO> matching(BulkUpdateRequestDTO request) {
+        BulkUpdateRequestDTO.Filter where = request.where();
+        ProductPatchDTO set = request.set();
+        if (where == null || set == null) {
+            throw new IllegalArgumentException("A filter update needs both where and set");
+        }
+        if (where.categoryId() == null && where.productType() == null && where.active() == null) {
+            throw new IllegalArgumentException("The filter needs at least one criterion");
+        }
+        if (set.id() != null) {
+            throw new IllegalArgumentException("The change of a filter update cannot carry an ID");
+        }
+        // One more than accepted, so an oversized match is rejected rather than truncated
+        List<UUID> ids = writer.findIds(where, properties.getMaxOperations() + 1);
+        return ids.stream()
+            .map(productId -> new ProductPatchDTO(productId, set.price(), set.stock(), set.active()))
+            .toList();
+    }
+
+    private void flush(List<ProductBulkUpdateWriter.ProductPatch> chunk, List<Integer> positions,
+                       BulkUpdateResultDTO.Item[] results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            Set<UUID> updated = writer.update(chunk);
+            if (!updated.isEmpty()) {
+                eventPublisher.publishEvent(new ProductsWrittenEvent(List.copyOf(updated)));
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                UUID productId = chunk.get(i).id();
+                results[positions.get(i)] = updated.contains(productId)
+                    ? new BulkUpdateResultDTO.Item(productId, BulkUpdateResultDTO.Status.UPDATED, null)
+                    : new BulkUpdateResultDTO.Item(productId, BulkUpdateResultDTO.Status.NOT_FOUND, "Product not found");
+            }
+        } catch (DataAccessException e) {
+            // The chunk was rolled back as a whole; earlier chunks stay committed
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            logger.warn("Bulk update chunk of {} products failed: {}", chunk.size(), message);
+            for (int i = 0; i < chunk.size(); i++) {
+                results[positions.get(i)] = new BulkUpdateResultDTO.Item(chunk.get(i).id(),
+                    BulkUpdateResultDTO.Status.FAILED, message);
+            }
+        }
+        chunk.clear();
+        positions.clear();
+    }
+
+    private static ProductBulkUpdateWriter.ProductPatch validate(ProductPatchDTO operation) {
+        if (operation == null || operation.id() == null) {
+            throw new IllegalArgumentException("Product ID is required");
+        }
+        if (operation.price() == null && operation.stock() == null && operation.active() == null) {
+            throw new IllegalArgumentException("Nothing to change: set price, stock or active");
+        }
+        BigDecimal price = operation.price();
+        if (price != null) {
+            price = price.setScale(2, RoundingMode.HALF_UP);
+            if (price.signum() <= 0 || price.compareTo(ProductImportRow.MAX_PRICE) > 0) {
+                throw new IllegalArgumentException("Price must be positive and at most "
+                    + ProductImportRow.MAX_PRICE + ": " + operation.price());
+            }
+        }
+        if (operation.stock() != null && operation.stock() < 0) {
+            throw new IllegalArgumentException("Stock cannot be negative: " + operation.stock());
+        }
+        return new ProductBulkUpdateWriter.ProductPatch(operation.id(), price, operation.stock(), operation.active());
+    }
+}
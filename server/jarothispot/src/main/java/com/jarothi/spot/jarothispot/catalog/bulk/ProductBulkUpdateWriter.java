@@ -0,0 +1,98 @@
+package com.jarothi.spot.jarothispot.catalog.bulk;
+
+import com.jarothi.spot.jarothispot.catalog.dto.BulkUpdateRequestDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Applies bulk update chunks with one set-based statement each: the changes are sent as a
+ * VALUES list joined to products by ID, and null columns keep the current value. Each
+ * chunk runs in its own transaction; nothing goes through the persistence context.
+ */
+@Component
+class ProductBulkUpdateWriter {
+
+    private static final String VALUES_ROW = "(CAST(? AS uuid), CAST(? AS numeric), CAST(? AS integer), CAST(? AS boolean))";
+
+    private static final String UPDATE_PRODUCTS = """
+        UPDATE products p SET
+            price = COALESCE(v.price, p.price),
+            stock = COALESCE(v.stock, p.stock),
+            active = COALESCE(v.active, p.active)
+        FROM (VALUES %s) AS v (id, price, stock, active)
+        WHERE p.id = v.id
+        RETURNING p.id
+        """;
+
+    /**
+     * A validated change; null fields are left unchanged
+     */
+    record ProductPatch(
+        UUID id,
+        BigDecimal price,
+        Integer stock,
+        Boolean active
+    ) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    ProductBulkUpdateWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * IDs of the products matching the filter, at most limit of them
+     */
+    List<UUID> findIds(BulkUpdateRequestDTO.Filter filter, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT p.id FROM products p WHERE TRUE");
+        List<Object> args = new ArrayList<>();
+        if (filter.categoryId() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM product_categories pc"
+                + " WHERE pc.product_id = p.id AND pc.category_id = ?)");
+            args.add(filter.categoryId());
+        }
+        if (filter.productType() != null) {
+            sql.append(" AND p.product_type = ?");
+            args.add(filter.productType().name());
+        }
+        if (filter.active() != null) {
+            sql.append(" AND p.active = ?");
+            args.add(filter.active());
+        }
+        sql.append(" ORDER BY p.id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.queryForList(sql.toString(), UUID.class, args.toArray());
+    }
+
+    /**
+     * Apply the changes in one statement and transaction
+     *
+     * @return the IDs of the products that exist and were updated
+     */
+    Set<UUID> update(List<ProductPatch> patches) {
+        String sql = UPDATE_PRODUCTS.formatted(String.join(", ", Collections.nCopies(patches.size(), VALUES_ROW)));
+        Object[] args = new Object[patches.size() * 4];
+        int i = 0;
+        for (ProductPatch patch : patches) {
+            args[i++] = patch.id();
+            args[i++] = patch.price();
+            args[i++] = patch.stock();
+            args[i++] = patch.active();
+        }
+        List<UUID> updated = transactionTemplate.execute(status ->
+            jdbcTemplate.queryForList(sql, UUID.class, args));
+        return updated == null ? Set.of() : new HashSet<>(updated);
+    }
+}
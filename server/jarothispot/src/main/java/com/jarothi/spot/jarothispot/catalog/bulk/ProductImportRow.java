@@ -0,0 +1,156 @@
+package com.jarothi.spot.jarothispot.catalog.bulk;
+
+import com.jarothi.spot.jarothispot.catalog.ProductType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One parsed import row, in the shape written by the catalog export. Category references
+ * are IDs or names: NDJSON rows carry category objects or plain names, CSV rows a
+ * "|"-separated list of names.
+ */
+record ProductImportRow(
+    UUID id,
+    ProductType productType,
+    String title,
+    String description,
+    BigDecimal price,
+    String imageUrl,
+    boolean active,
+    List<CategoryRef> categories
+) {
+
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_IMAGE_URL_LENGTH = 500;
+    // NUMERIC(10,2)
+    static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    record CategoryRef(UUID id, String name) {}
+
+    /**
+     * Validate and convert the raw fields of a row
+     *
+     * @throws IllegalArgumentException describing the first invalid field
+     */
+    static ProductImportRow parse(Map<String, Object> fields) {
+        String id = text(fields.get("id"));
+        String productType = text(fields.get("productType"));
+        String title = text(fields.get("title"));
+        String price = text(fields.get("price"));
+        String imageUrl = text(fields.get("imageUrl"));
+        String active = text(fields.get("active"));
+
+        if (title == null) {
+            throw new IllegalArgumentException("Title is required");
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("Title is longer than " + MAX_TITLE_LENGTH + " characters");
+        }
+        if (imageUrl != null && imageUrl.length() > MAX_IMAGE_URL_LENGTH) {
+            throw new IllegalArgumentException("Image URL is longer than " + MAX_IMAGE_URL_LENGTH + " characters");
+        }
+        if (active != null && !"true".equalsIgnoreCase(active) && !"false".equalsIgnoreCase(active)) {
+            throw new IllegalArgumentException("Invalid active flag: " + active);
+        }
+
+        return new ProductImportRow(
+            id == null ? null : parseId(id),
+            productType == null ? ProductType.BOOK : parseProductType(productType),
+            title,
+            text(fields.get("description")),
+            parsePrice(price),
+            imageUrl,
+            active == null || Boolean.parseBoolean(active),
+            parseCategories(fields.get("categories"))
+        );
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid product ID: " + id);
+        }
+    }
+
+    private static ProductType parseProductType(String productType) {
+        try {
+            return ProductType.valueOf(productType.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown product type: " + productType);
+        }
+    }
+
+    private static BigDecimal parsePrice(String price) {
+        if (price == null) {
+            throw new IllegalArgumentException("Price is required");
+        }
+        BigDecimal value;
+        try {
+            value = new BigDecimal(price).setScale(2, RoundingMode.HALF_UP);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price: " + price);
+        }
+        if (value.signum() <= 0 || value.compareTo(MAX_PRICE) > 0) {
+            throw new IllegalArgumentException("Price must be positive and at most " + MAX_PRICE + ": " + price);
+        }
+        return value;
+    }
+
+    private static List<CategoryRef> parseCategories(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        if (value instanceof String names) {
+            List<CategoryRef> categories = new ArrayList<>();
+            for (String name : names.split("\\|")) {
+                if (!name.isBlank()) {
+                    categories.add(new CategoryRef(null, name.trim()));
+                }
+            }
+            return categories;
+        }
+        if (!(value instanceof Collection<?> items)) {
+            throw new IllegalArgumentException("Categories must be a list or a |-separated string");
+        }
+
+        List<CategoryRef> categories = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (item instanceof Map<?, ?> category) {
+                String id = text(category.get("id"));
+                String name = text(category.get("name"));
+                if (id == null && name == null) {
+                    throw new IllegalArgumentException("Category needs an id or a name");
+                }
+                categories.add(new CategoryRef(id == null ? null : parseCategoryId(id), name));
+            } else if (text(item) != null) {
+                categories.add(new CategoryRef(null, text(item)));
+            }
+        }
+        return categories;
+    }
+
+    private static UUID parseCategoryId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid category ID: " + id);
+        }
+    }
+
+    // Blank CSV cells and JSON nulls both mean "absent"
+    private static String text(Object value) {
+        if (value == null || value instanceof Map || value instanceof Collection) {
+            return null;
+        }
+        String text = value.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+}
@@ -0,0 +1,234 @@
+package com.jarothi.spot.jarothispot.catalog.bulk;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.jarothi.spot.jarothispot.catalog.cache.CategoryRegistry;
+import com.jarothi.spot.jarothispot.catalog.dto.CatalogMappingService;
+import com.jarothi.spot.jarothispot.catalog.dto.CategoryDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ImportJobDTO;
+import com.jarothi.spot.jarothispot.catalog.event.CatalogImportedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductsWrittenEvent;
+import com.jarothi.spot.jarothispot.catalog.export.ExportFormat;
+import com.jarothi.spot.jarothispot.common.Ids;
+import com.jarothi.spot.jarothispot.datasource.ReadRouting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk product import from NDJSON or CSV files in the export format.
+ *
+ * The upload is spooled to a temporary file and processed on a background thread: rows are
+ * read one at a time with Jackson's streaming parser, categories are resolved from a map
+ * built once per job, and valid rows are upserted by {@link ProductImportWriter} in chunks
+ * of catalog.import.chunk-size, one transaction each. Invalid rows are reported with their
+ * row number; when a chunk is rejected by the database its rows are retried one by one so
+ * only the offending ones fail. Rows without an ID update the product with the same title.
+ * Each committed chunk publishes a {@link ProductsWrittenEvent} so caches drop its products
+ * right away; the in-memory views reload once the whole file is done.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+
+    private final ProductImportWriter writer;
+    private final CategoryRegistry categoryRegistry;
+    private final CatalogMappingService mappingService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExecutor taskExecutor;
+    private final ImportProperties properties;
+    private final Map<UUID, ImportJob> jobs;
+
+    public ProductImportService(ProductImportWriter writer,
+                                CategoryRegistry categoryRegistry,
+                                CatalogMappingService mappingService,
+                                ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                                ImportProperties properties) {
+        this.writer = writer;
+        this.categoryRegistry = categoryRegistry;
+        this.mappingService = mappingService;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.taskExecutor = taskExecutor;
+        this.properties = properties;
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, ImportJob> eldest) {
+                return size() > properties.getRetainedJobs() && eldest.getValue().isFinished();
+            }
+        });
+    }
+
+    /**
+     * Spool the file and queue its import, returning the job to poll
+     */
+    public ImportJobDTO submit(ExportFormat format, InputStream content) throws IOException {
+        Path file = Files.createTempFile("catalog-import-", "." + format.getExtension());
+        try {
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(format, properties.getMaxErrors());
+        jobs.put(job.getId(), job);
+        taskExecutor.execute(() -> run(job, format, file));
+        return job.toDTO();
+    }
+
+    /**
+     * Find the progress of an import job
+     */
+    public ImportJobDTO getJob(UUID jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Import job not found with ID: " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    private void run(ImportJob job, ExportFormat format, Path file) {
+        job.start();
+        logger.info("Import {} started ({})", job.getId(), format);
+        try (MappingIterator<Map<String, Object>> rows = openRows(format, file)) {
+            Map<String, UUID> idsByTitle = writer.findIdsByTitle();
+            Map<String, UUID> categoryIdsByName = new HashMap<>();
+            for (CategoryDTO category : categoryRegistry.findAll()) {
+                categoryIdsByName.putIfAbsent(category.name(), category.id());
+            }
+
+            List<ProductImportWriter.ImportedProduct> chunk = new ArrayList<>(properties.getChunkSize());
+            long row = 0;
+            while (rows.hasNextValue()) {
+                Map<String, Object> fields = rows.nextValue();
+                row++;
+                job.rowRead();
+                try {
+                    chunk.add(resolve(row, ProductImportRow.parse(fields), idsByTitle, categoryIdsByName));
+                } catch (IllegalArgumentException e) {
+                    job.rowFailed(row, e.getMessage());
+                }
+                if (chunk.size() == properties.getChunkSize()) {
+                    flush(job, chunk);
+                    chunk.clear();
+                }
+            }
+            flush(job, chunk);
+            job.complete();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Import {} aborted", job.getId(), e);
+            job.abort(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        } finally {
+            deleteQuietly(file);
+        }
+
+        ImportJobDTO result = job.toDTO();
+        logger.info("Import {} {}: {} rows read, {} imported, {} rejected", job.getId(),
+            result.status(), result.processedRows(), result.importedRows(), result.failedRows());
+        if (result.importedRows() > 0) {
+            // The chunks have committed, so no write transaction pins the listeners' reloads
+            CatalogImportedEvent event = new CatalogImportedEvent(job.getId(), result.importedRows());
+            ReadRouting.onPrimary(() -> eventPublisher.publishEvent(event));
+        }
+    }
+
+    private MappingIterator<Map<String, Object>> openRows(ExportFormat format, Path file) throws IOException {
+        if (format == ExportFormat.CSV) {
+            return new CsvMapper()
+                .readerFor(Map.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(file.toFile());
+        }
+        return objectMapper.readerFor(Map.class).readValues(file.toFile());
+    }
+
+    private ProductImportWriter.ImportedProduct resolve(long row, ProductImportRow product,
+                                                       Map<String, UUID> idsByTitle,
+                                                       Map<String, UUID> categoryIdsByName) {
+        Set<UUID> categoryIds = new LinkedHashSet<>();
+        for (ProductImportRow.CategoryRef category : product.categories()) {
+            UUID categoryId = category.id() != null && categoryRegistry.exists(category.id())
+                ? category.id()
+                : categoryIdsByName.get(category.name());
+            if (categoryId == null) {
+                throw new IllegalArgumentException("Unknown category: "
+                    + (category.name() != null ? category.name() : category.id()));
+            }
+            categoryIds.add(categoryId);
+        }
+        List<UUID> resolvedCategoryIds = List.copyOf(categoryIds);
+        mappingService.validateCategoriesForProduct(resolvedCategoryIds, product.productType());
+
+        UUID id = product.id();
+        if (id == null) {
+            id = idsByTitle.computeIfAbsent(product.title(), title -> Ids.next());
+        } else {
+            idsByTitle.putIfAbsent(product.title(), id);
+        }
+
+        return new ProductImportWriter.ImportedProduct(row, id, product.productType().name(), product.title(),
+            product.description(), product.price(), product.imageUrl(), product.active(), resolvedCategoryIds);
+    }
+
+    private void flush(ImportJob job, List<ProductImportWriter.ImportedProduct> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<UUID> written = new ArrayList<>(chunk.size());
+        try {
+            writer.write(chunk);
+            job.rowsImported(chunk.size());
+            chunk.forEach(product -> written.add(product.id()));
+        } catch (DataAccessException e) {
+            // Isolate the rows the database rejects; the rest of the chunk is still imported
+            for (ProductImportWriter.ImportedProduct product : chunk) {
+                try {
+                    writer.write(List.of(product));
+                    job.rowsImported(1);
+                    written.add(product.id());
+                } catch (DataAccessException rowError) {
+                    job.rowFailed(product.row(), NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+        if (!written.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsWrittenEvent(written));
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete import file {}", file, e);
+        }
+    }
+}
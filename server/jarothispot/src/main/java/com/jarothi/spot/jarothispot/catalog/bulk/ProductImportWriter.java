@@ -0,0 +1,112 @@
+package com.jarothi.spot.jarothispot.catalog.bulk;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes import chunks with plain JDBC batches, one transaction per chunk: a batched
+ * upsert of the product rows, one delete of their category links and a batched insert
+ * of the new links. Nothing goes through the persistence context.
+ */
+@Component
+class ProductImportWriter {
+
+    private static final String UPSERT_PRODUCT = """
+        INSERT INTO products (id, product_type, title, description, price, image_url, active)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (id) DO UPDATE SET
+            product_type = EXCLUDED.product_type,
+            title = EXCLUDED.title,
+            description = EXCLUDED.description,
+            price = EXCLUDED.price,
+            image_url = EXCLUDED.image_url,
+            active = EXCLUDED.active
+        """;
+
+    private static final String DELETE_CATEGORY_LINKS = "DELETE FROM product_categories WHERE product_id = ANY(?)";
+
+    private static final String INSERT_CATEGORY_LINK =
+        "INSERT INTO product_categories (product_id, category_id) VALUES (?, ?)";
+
+    /**
+     * A validated row with its product ID and category IDs resolved
+     */
+    record ImportedProduct(
+        long row,
+        UUID id,
+        String productType,
+        String title,
+        String description,
+        BigDecimal price,
+        String imageUrl,
+        boolean active,
+        List<UUID> categoryIds
+    ) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    ProductImportWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Existing product IDs by title, used to match rows that carry no ID
+     */
+    Map<String, UUID> findIdsByTitle() {
+        Map<String, UUID> idsByTitle = new HashMap<>();
+        jdbcTemplate.query("SELECT id, title FROM products",
+            resultSet -> {
+                idsByTitle.putIfAbsent(resultSet.getString("title"), resultSet.getObject("id", UUID.class));
+            });
+        return idsByTitle;
+    }
+
+    /**
+     * Upsert the products and replace their category links in one transaction
+     */
+    void write(List<ImportedProduct> products) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPSERT_PRODUCT, products, products.size(), (statement, product) -> {
+                statement.setObject(1, product.id());
+                statement.setString(2, product.productType());
+                statement.setString(3, product.title());
+                statement.setString(4, product.description());
+                statement.setBigDecimal(5, product.price());
+                statement.setString(6, product.imageUrl());
+                statement.setBoolean(7, product.active());
+            });
+
+            jdbcTemplate.update(DELETE_CATEGORY_LINKS, (PreparedStatement statement) -> {
+                Array ids = statement.getConnection().createArrayOf("uuid",
+                    products.stream().map(ImportedProduct::id).toArray());
+                statement.setArray(1, ids);
+            });
+
+            List<UUID[]> links = new ArrayList<>();
+            for (ImportedProduct product : products) {
+                for (UUID categoryId : product.categoryIds()) {
+                    links.add(new UUID[] {product.id(), categoryId});
+                }
+            }
+            if (!links.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_CATEGORY_LINK, links, links.size(), (statement, link) -> {
+                    statement.setObject(1, link[0]);
+                    statement.setObject(2, link[1]);
+                });
+            }
+        });
+    }
+}
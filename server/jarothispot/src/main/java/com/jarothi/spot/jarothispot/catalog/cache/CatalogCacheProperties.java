@@ -0,0 +1,28 @@
+package com.jarothi.spot.jarothispot.catalog.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.cache")
+public class CatalogCacheProperties {
+    private boolean enabled = true;
+    // Total weight of cached listing pages, one unit per product (plus one per page)
+    private long maximumWeight = 20_000;
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+    // Single products cached by ID (GET /api/products/{id} and ?ids=)
+    private long productMaximumSize = 10_000;
+
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getMaximumWeight() { return maximumWeight; }
+    public void setMaximumWeight(long maximumWeight) { this.maximumWeight = maximumWeight; }
+
+    public Duration getExpireAfterWrite() { return expireAfterWrite; }
+    public void setExpireAfterWrite(Duration expireAfterWrite) { this.expireAfterWrite = expireAfterWrite; }
+
+    public long getProductMaximumSize() { return productMaximumSize; }
+    public void setProductMaximumSize(long productMaximumSize) { this.productMaximumSize = productMaximumSize; }
+}
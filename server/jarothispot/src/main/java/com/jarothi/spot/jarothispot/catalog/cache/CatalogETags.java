@@ -0,0 +1,39 @@
+package com.jarothi.spot.jarothispot.catalog.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Strong ETags for catalog reads: the boot epoch, the catalog version and a hash of the
+ * request parameters. The epoch keeps tags from a previous run (whose version counter
+ * started over) from ever matching. Computing a tag costs no query.
+ */
+@Component
+public class CatalogETags {
+
+    private final CatalogVersion catalogVersion;
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    public CatalogETags(CatalogVersion catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
+
+    /**
+     * ETag for a catalog resource. Read it before loading the data: a write committed in
+     * between then yields a newer body under an older tag, which only costs a cache miss.
+     */
+    public String forRequest(String resource, WebRequest request) {
+        StringBuilder parameters = new StringBuilder(resource);
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            parameters.append('&').append(parameter.getKey()).append('=').append(Arrays.toString(parameter.getValue()));
+        }
+        UUID parametersHash = UUID.nameUUIDFromBytes(parameters.toString().getBytes(StandardCharsets.UTF_8));
+        return "\"" + epoch + "-" + catalogVersion.current() + "-" + parametersHash + "\"";
+    }
+}
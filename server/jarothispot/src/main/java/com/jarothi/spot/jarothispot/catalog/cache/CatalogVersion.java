@@ -0,0 +1,57 @@
+package com.jarothi.spot.jarothispot.catalog.cache;
+
+import com.jarothi.spot.jarothispot.catalog.event.CatalogImportedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.CategoryChangedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductChangedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductsWrittenEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing version of the catalog, bumped after every committed product
+ * or category change and after every bulk import chunk. Caches derived from the catalog use it
+ * to detect stale entries.
+ * Listeners run last so other in-memory views are already updated when the version moves.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public long bump() {
+        return version.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onProductChanged(ProductChangedEvent event) {
+        bump();
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        bump();
+    }
+
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onProductsWritten(ProductsWrittenEvent event) {
+        bump();
+    }
+
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        bump();
+    }
+}
@@ -0,0 +1,133 @@
+package com.jarothi.spot.jarothispot.catalog.cache;
+
+import com.jarothi.spot.jarothispot.catalog.CategoryRepository;
+import com.jarothi.spot.jarothispot.catalog.CategoryType;
+import com.jarothi.spot.jarothispot.catalog.dto.CategoryDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.CategoryMapper;
+import com.jarothi.spot.jarothispot.catalog.event.CategoryChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable in-memory snapshot of all categories, indexed by id, by (name, type) and by type.
+ * The categories table only holds a handful of rows, so the whole snapshot is reloaded and
+ * swapped atomically after every committed category change; readers never touch the database.
+ */
+@Component
+public class CategoryRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryRegistry.class);
+
+    private static final Comparator<CategoryDTO> BY_TYPE_AND_NAME =
+        Comparator.comparing(CategoryDTO::type).thenComparing(CategoryDTO::name);
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+    private volatile Snapshot snapshot;
+
+    public CategoryRegistry(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+        this.categoryRepository = categoryRepository;
+        this.categoryMapper = categoryMapper;
+    }
+
+    /**
+     * All categories ordered by type then name
+     */
+    public List<CategoryDTO> findAll() {
+        return snapshot().all();
+    }
+
+    /**
+     * Categories of one type ordered by name
+     */
+    public List<CategoryDTO> findByType(CategoryType type) {
+        return snapshot().byType().getOrDefault(type, List.of());
+    }
+
+    public Optional<CategoryDTO> findById(UUID id) {
+        return Optional.ofNullable(snapshot().byId().get(id));
+    }
+
+    public Optional<CategoryDTO> findByNameAndType(String name, CategoryType type) {
+        return Optional.ofNullable(snapshot().byNameAndType().get(new NameAndType(name, type)));
+    }
+
+    public boolean exists(UUID id) {
+        return snapshot().byId().containsKey(id);
+    }
+
+    /**
+     * Reload the snapshot from the database and swap it in
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reload() {
+        snapshot = load();
+        log.info("Category registry loaded with {} categories", snapshot.all().size());
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        snapshot = load();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Requests can arrive before ApplicationReadyEvent; load once on first use
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        List<CategoryDTO> all = categoryRepository.findAll().stream()
+            .map(categoryMapper::toDTO)
+            .sorted(BY_TYPE_AND_NAME)
+            .toList();
+
+        Map<UUID, CategoryDTO> byId = all.stream()
+            .collect(Collectors.toUnmodifiableMap(CategoryDTO::id, Function.identity()));
+        Map<NameAndType, CategoryDTO> byNameAndType = all.stream()
+            .collect(Collectors.toUnmodifiableMap(c -> new NameAndType(c.name(), c.type()), Function.identity()));
+        Map<CategoryType, List<CategoryDTO>> byType = all.stream()
+            .collect(Collectors.groupingBy(CategoryDTO::type, () -> new EnumMap<>(CategoryType.class),
+                Collectors.toUnmodifiableList()));
+
+        return new Snapshot(all, byId, byNameAndType, Map.copyOf(byType));
+    }
+
+    private record NameAndType(String name, CategoryType type) {}
+
+    private record Snapshot(
+        List<CategoryDTO> all,
+        Map<UUID, CategoryDTO> byId,
+        Map<NameAndType, CategoryDTO> byNameAndType,
+        Map<CategoryType, List<CategoryDTO>> byType
+    ) {}
+}
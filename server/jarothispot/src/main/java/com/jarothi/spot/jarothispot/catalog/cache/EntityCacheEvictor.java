@@ -0,0 +1,57 @@
+package com.jarothi.spot.jarothispot.catalog.cache;
+
+import com.jarothi.spot.jarothispot.catalog.Product;
+import com.jarothi.spot.jarothispot.catalog.event.CatalogImportedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.CategoryChangedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductsWrittenEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Evicts Hibernate second-level cache regions after catalog writes that Hibernate does not see.
+ * Writes through the entity manager keep the regions up to date by themselves.
+ */
+@Component
+public class EntityCacheEvictor {
+
+    private static final String PRODUCT_CATEGORIES_ROLE = Product.class.getName() + ".categories";
+
+    private final Cache cache;
+
+    public EntityCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    // Imports and bulk updates write products and their category links with plain JDBC,
+    // one committed chunk at a time
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductsWritten(ProductsWrittenEvent event) {
+        for (UUID productId : event.productIds()) {
+            cache.evictEntityData(Product.class, productId);
+            cache.evictCollectionData(PRODUCT_CATEGORIES_ROLE, productId);
+        }
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        cache.evictEntityData(Product.class);
+        cache.evictCollectionData(PRODUCT_CATEGORIES_ROLE);
+    }
+
+    // Deleting a category removes its product links through the foreign key cascade
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        cache.evictCollectionData(PRODUCT_CATEGORIES_ROLE);
+    }
+}
@@ -0,0 +1,127 @@
+package com.jarothi.spot.jarothispot.catalog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTO;
+import com.jarothi.spot.jarothispot.catalog.event.CatalogImportedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.CategoryChangedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductChangedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductsWrittenEvent;
+import com.jarothi.spot.jarothispot.datasource.ReadRouting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through in-process cache of single products by ID, invalidated per product after each
+ * committed write and bulk chunk (and entirely after category changes and imports).
+ *
+ * Misses are loaded in one call for the whole batch, from the primary even when replicas are
+ * configured. Such a load may have read the database before a concurrent write committed,
+ * so its result is only stored if no invalidation happened while it ran; otherwise it is
+ * returned without being cached.
+ */
+@Component
+public class ProductCache {
+
+    public static final String CACHE_NAME = "catalog.products";
+
+    private final CatalogCacheProperties properties;
+    private final Cache<UUID, ProductDTO> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ProductCache(CatalogCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.getProductMaximumSize())
+            .expireAfterWrite(properties.getExpireAfterWrite())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Products by ID in the order requested; IDs the loader does not find are left out
+     *
+     * @param loader loads the missing IDs, typically with one IN query
+     */
+    public Map<UUID, ProductDTO> getAll(Collection<UUID> ids,
+                                        Function<Set<UUID>, Map<UUID, ProductDTO>> loader) {
+        Set<UUID> requested = new LinkedHashSet<>(ids);
+        if (!properties.isEnabled()) {
+            return ordered(requested, loader.apply(requested));
+        }
+
+        Map<UUID, ProductDTO> found = new LinkedHashMap<>(cache.getAllPresent(requested));
+        Set<UUID> missing = new LinkedHashSet<>(requested);
+        missing.removeAll(found.keySet());
+        if (missing.isEmpty()) {
+            return ordered(requested, found);
+        }
+
+        long before = invalidations.get();
+        Map<UUID, ProductDTO> loaded = ReadRouting.onPrimary(() -> loader.apply(missing));
+        if (invalidations.get() == before) {
+            cache.putAll(loaded);
+        }
+        found.putAll(loaded);
+        return ordered(requested, found);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidations.incrementAndGet();
+        cache.invalidate(event.productId());
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductsWritten(ProductsWrittenEvent event) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll(event.productIds());
+    }
+
+    // Category names are part of every cached product; runs after the category registry reload
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        invalidateAll();
+    }
+
+    private static Map<UUID, ProductDTO> ordered(Set<UUID> requested,
+                                                 Map<UUID, ProductDTO> products) {
+        Map<UUID, ProductDTO> ordered = new LinkedHashMap<>();
+        for (UUID id : requested) {
+            ProductDTO product = products.get(id);
+            if (product != null) {
+                ordered.put(id, product);
+            }
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,119 @@
+package com.jarothi.spot.jarothispot.catalog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductFilterDTO;
+import com.jarothi.spot.jarothispot.common.TotalsMode;
+import com.jarothi.spot.jarothispot.datasource.ReadRouting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of product listing pages (W-TinyLFU eviction, weighted by page size).
+ * Entries are keyed by the catalog version, so a committed write makes every older entry
+ * unreachable; the whole cache is also dropped the first time a new version is seen.
+ */
+@Component
+public class ProductListingCache {
+
+    public static final String CACHE_NAME = "catalog.listing";
+
+    private final CatalogVersion catalogVersion;
+    private final CatalogCacheProperties properties;
+    private final Cache<ListingKey, Slice<ProductDTO>> cache;
+    private volatile long cachedVersion;
+
+    public ProductListingCache(CatalogVersion catalogVersion,
+                               CatalogCacheProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.catalogVersion = catalogVersion;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaximumWeight())
+            .weigher((ListingKey key, Slice<ProductDTO> page) -> page.getNumberOfElements() + 1)
+            .expireAfterWrite(properties.getExpireAfterWrite())
+            .recordStats()
+            .build();
+        this.cachedVersion = catalogVersion.current();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Return the cached listing for these parameters, loading it on a miss
+     */
+    public Slice<ProductDTO> get(ProductFilterDTO filter, Pageable pageable, TotalsMode totals,
+                                 Supplier<Slice<ProductDTO>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+
+        long version = catalogVersion.current();
+        if (version != cachedVersion) {
+            cachedVersion = version;
+            cache.invalidateAll();
+        }
+        // Cached pages must not come from a replica that has not replayed the latest version yet
+        return cache.get(ListingKey.of(version, filter, pageable, totals), key -> ReadRouting.onPrimary(loader));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Normalized listing parameters: blank queries are dropped, queries are trimmed,
+     * lowercased and whitespace-collapsed, and prices compared by value (10 == 10.00)
+     */
+    record ListingKey(
+        long version,
+        String query,
+        UUID categoryId,
+        String categoryType,
+        String productType,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        boolean active,
+        long offset,
+        int size,
+        String sort,
+        TotalsMode totals
+    ) {
+
+        static ListingKey of(long version, ProductFilterDTO filter, Pageable pageable, TotalsMode totals) {
+            return new ListingKey(
+                version,
+                normalizeQuery(filter.query()),
+                filter.categoryId(),
+                filter.categoryType() != null ? filter.categoryType().name() : null,
+                filter.productType() != null ? filter.productType().name() : null,
+                normalizePrice(filter.minPrice()),
+                normalizePrice(filter.maxPrice()),
+                filter.getActiveFilter(),
+                pageable.isPaged() ? pageable.getOffset() : -1,
+                pageable.isPaged() ? pageable.getPageSize() : -1,
+                pageable.getSort().toString(),
+                totals
+            );
+        }
+
+        private static String normalizeQuery(String query) {
+            if (query == null || query.isBlank()) {
+                return null;
+            }
+            return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        }
+
+        private static BigDecimal normalizePrice(BigDecimal price) {
+            return price != null ? price.stripTrailingZeros() : null;
+        }
+    }
+}
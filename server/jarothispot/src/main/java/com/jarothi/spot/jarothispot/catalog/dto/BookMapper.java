@@ -10,7 +10,7 @@ import java.util.List;
  */
 @Mapper(
     componentModel = MappingConstants.ComponentModel.SPRING,
-    uses = {CategoryMapper.class}
+    uses = {CategoryMapper.class, MoneyMapper.class}
 )
 public interface BookMapper {
 
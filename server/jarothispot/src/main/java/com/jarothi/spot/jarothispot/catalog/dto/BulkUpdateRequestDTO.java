@@ -0,0 +1,26 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import com.jarothi.spot.jarothispot.catalog.ProductType;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk product update: either a list of per-product operations, or one change (set)
+ * applied to every product matching a filter (where), e.g. deactivate a whole category
+ */
+public record BulkUpdateRequestDTO(
+    List<ProductPatchDTO> operations,
+    Filter where,
+    ProductPatchDTO set
+) {
+
+    /**
+     * Products to change; criteria are combined with AND and at least one is required
+     */
+    public record Filter(
+        UUID categoryId,
+        ProductType productType,
+        Boolean active
+    ) {}
+}
@@ -0,0 +1,29 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk product update, with one result per operation in request order
+ */
+public record BulkUpdateResultDTO(
+    UUID id,
+    int requested,
+    int updated,
+    int failed,
+    List<Item> results
+) {
+
+    public record Item(
+        UUID id,
+        Status status,
+        String message
+    ) {}
+
+    public enum Status {
+        UPDATED,
+        NOT_FOUND,
+        INVALID,
+        FAILED
+    }
+}
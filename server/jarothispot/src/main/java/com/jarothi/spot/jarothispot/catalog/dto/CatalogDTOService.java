@@ -1,14 +1,33 @@
 package com.jarothi.spot.jarothispot.catalog.dto;
 
 import com.jarothi.spot.jarothispot.catalog.*;
+import com.jarothi.spot.jarothispot.catalog.cache.CategoryRegistry;
+import com.jarothi.spot.jarothispot.catalog.cache.ProductCache;
+import com.jarothi.spot.jarothispot.catalog.cache.ProductListingCache;
+import com.jarothi.spot.jarothispot.catalog.event.CategoryChangedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductChangedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductChangedEvent.ChangeType;
+import com.jarothi.spot.jarothispot.catalog.listing.ProductListingEngine;
+import com.jarothi.spot.jarothispot.common.CappedPage;
+import com.jarothi.spot.jarothispot.common.TotalsMode;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -18,31 +37,56 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class CatalogDTOService {
 
+    public static final int MAX_PRODUCTS_BY_ID = 100;
+
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
     private final BookRepository bookRepository;
     private final CatalogMappingService mappingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductDTOReader productReader;
+    private final ProductListingCache listingCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CategoryRegistry categoryRegistry;
+    private final ProductListingEngine listingEngine;
+    private final ProductCache productCache;
 
     public CatalogDTOService(CategoryRepository categoryRepository,
                            ProductRepository productRepository,
                            BookRepository bookRepository,
-                           CatalogMappingService mappingService) {
+                           CatalogMappingService mappingService,
+                           ApplicationEventPublisher eventPublisher,
+                           ProductDTOReader productReader,
+                           ProductListingCache listingCache,
+                           PlatformTransactionManager transactionManager,
+                           CategoryRegistry categoryRegistry,
+                           ProductListingEngine listingEngine,
+                           ProductCache productCache) {
         this.categoryRepository = categoryRepository;
         this.productRepository = productRepository;
         this.bookRepository = bookRepository;
         this.mappingService = mappingService;
+        this.eventPublisher = eventPublisher;
+        this.productReader = productReader;
+        this.listingCache = listingCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.categoryRegistry = categoryRegistry;
+        this.listingEngine = listingEngine;
+        this.productCache = productCache;
     }
 
     // Category operations with DTOs
     @Transactional
     public CategoryDTO createCategory(CategoryCreateDTO createDTO) {
         // Validate that category doesn't already exist
-        if (categoryRepository.existsByNameAndType(createDTO.name(), createDTO.type())) {
+        if (categoryRegistry.findByNameAndType(createDTO.name(), createDTO.type()).isPresent()) {
             throw new IllegalArgumentException("Category already exists with name: " + createDTO.name() + " and type: " + createDTO.type());
         }
 
         Category category = mappingService.createCategoryFromDTO(createDTO);
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId(), CategoryChangedEvent.ChangeType.CREATED));
         return mappingService.toCategoryDTO(savedCategory);
     }
 
@@ -53,39 +97,122 @@ public class CatalogDTOService {
 
         mappingService.updateCategoryFromDTO(updateDTO, category);
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId, CategoryChangedEvent.ChangeType.UPDATED));
         return mappingService.toCategoryDTO(savedCategory);
     }
 
+    // Category reads are served by the in-memory registry, without a transaction
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<CategoryDTO> getAllCategories() {
-        List<Category> categories = categoryRepository.findAll();
-        return mappingService.toCategoryDTOList(categories);
+        return categoryRegistry.findAll();
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<CategoryDTO> getCategoriesByType(CategoryType type) {
-        List<Category> categories = categoryRepository.findByTypeOrderByName(type);
-        return mappingService.toCategoryDTOList(categories);
+        return categoryRegistry.findByType(type);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<CategoryDTO> getCategoryById(UUID categoryId) {
-        return categoryRepository.findById(categoryId)
-            .map(mappingService::toCategoryDTO);
+        return categoryRegistry.findById(categoryId);
+    }
+
+    /**
+     * Every category with its number of active products, zero included, from one read of the
+     * per-category counters
+     */
+    public List<CategoryFacetDTO> getCategoryProductCounts() {
+        Map<UUID, Long> counts = new HashMap<>();
+        for (Object[] row : productRepository.countActiveByCategory()) {
+            counts.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+        return categoryRegistry.findAll().stream()
+            .map(category -> new CategoryFacetDTO(category.id(), category.name(), category.colorHex(),
+                category.type(), counts.getOrDefault(category.id(), 0L)))
+            .toList();
     }
 
     // Product operations with DTOs
     public List<ProductDTO> getAllActiveProducts() {
-        List<Product> products = productRepository.findByActiveTrue();
-        return mappingService.toProductDTOList(products);
+        return productReader.findAll(ProductSpecifications.isActive(true), Sort.unsorted());
     }
 
     public Page<ProductDTO> findProductsWithFilters(ProductFilterDTO filter, Pageable pageable) {
         Specification<Product> specification = mappingService.createSpecificationFromFilter(filter);
-        Page<Product> products = productRepository.findAll(specification, pageable);
-        return products.map(mappingService::toProductDTO);
+        return productReader.findPage(specification, pageable);
+    }
+
+    /**
+     * Filtered listing with a configurable total: EXACT runs the usual count query,
+     * NONE returns a Slice (size + 1 rows, no count) and ESTIMATE a count capped at
+     * {@link CappedPage#DEFAULT_CAP} rows. Pages come from the configured
+     * {@link ProductListingEngine} and are served from the listing cache until the
+     * catalog version changes; a cache hit does not open a transaction.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Slice<ProductDTO> findProductsWithFilters(ProductFilterDTO filter, Pageable pageable, TotalsMode totals) {
+        return listingCache.get(filter, pageable, totals,
+            () -> readOnlyTransaction.execute(status -> listingEngine.findProducts(filter, pageable, totals)));
+    }
+
+    /**
+     * Keyset paginated listing: seeks past the cursor on (sort key, id) instead of using an
+     * offset, and fetches one extra row to know whether there is a next page (no count query)
+     */
+    public CursorPageDTO<ProductDTO> findProductsAfter(ProductFilterDTO filter, Sort.Order order, String after, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        if (!ProductCursor.SORTABLE_PROPERTIES.contains(order.getProperty())) {
+            throw new IllegalArgumentException("Cursor pagination only supports sorting by " + ProductCursor.SORTABLE_PROPERTIES);
+        }
+
+        Specification<Product> specification = mappingService.createSpecificationFromFilter(filter);
+        if (after != null && !after.isBlank()) {
+            ProductCursor cursor = ProductCursor.decode(after);
+            if (!cursor.property().equals(order.getProperty()) || cursor.direction() != order.getDirection()) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort order");
+            }
+            specification = specification.and(ProductSpecifications.isAfter(
+                cursor.property(), cursor.direction(), cursor.lastValue(), cursor.lastId()));
+        }
+
+        Sort sort = Sort.by(order.getDirection(), order.getProperty(), "id");
+        List<ProductDTO> products = productReader.findAll(specification, sort, size + 1);
+
+        List<ProductDTO> items = products.stream()
+            .limit(size)
+            .toList();
+        String next = products.size() > size
+            ? ProductCursor.after(items.get(size - 1), order.getProperty(), order.getDirection()).encode()
+            : null;
+        return new CursorPageDTO<>(items, next);
     }
 
+    /**
+     * One product, inactive ones included, through the per-ID product cache
+     */
     public Optional<ProductDTO> getProductById(UUID productId) {
-        return productRepository.findById(productId)
-            .map(mappingService::toProductDTO);
+        return Optional.ofNullable(getProductsByIds(List.of(productId)).get(productId));
+    }
+
+    /**
+     * Products by ID in the requested order, unknown IDs left out. Cache misses are read
+     * together with one IN query plus one query for their category links.
+     */
+    public Map<UUID, ProductDTO> getProductsByIds(Collection<UUID> productIds) {
+        if (productIds.size() > MAX_PRODUCTS_BY_ID) {
+            throw new IllegalArgumentException("At most " + MAX_PRODUCTS_BY_ID + " product IDs can be requested at once");
+        }
+        return productCache.getAll(productIds, this::loadProducts);
+    }
+
+    private Map<UUID, ProductDTO> loadProducts(Set<UUID> productIds) {
+        Map<UUID, ProductDTO> products = new HashMap<>();
+        for (ProductDTO product : productReader.findAll(ProductSpecifications.hasIdIn(productIds), Sort.unsorted())) {
+            products.put(product.id(), product);
+        }
+        return products;
     }
 
     // Book-specific operations with DTOs
@@ -96,6 +223,7 @@ public class CatalogDTOService {
 
         Book book = mappingService.createBookFromDTO(createDTO);
         Book savedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedBook.getId(), ChangeType.CREATED));
         return mappingService.toProductDTO(savedBook);
     }
 
@@ -118,6 +246,7 @@ public class CatalogDTOService {
 
         mappingService.updateProductFromDTO(updateDTO, product);
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, ChangeType.UPDATED));
         return mappingService.toProductDTO(savedProduct);
     }
 
@@ -128,22 +257,25 @@ public class CatalogDTOService {
         
         product.setActive(false);
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, ChangeType.DEACTIVATED));
         return mappingService.toProductDTO(savedProduct);
     }
 
     public List<ProductDTO> getAllActiveBooks() {
-        List<Book> books = bookRepository.findByActiveTrue();
-        return mappingService.toProductDTOListFromBooks(books);
+        ProductFilterDTO filter = new ProductFilterDTO(null, null, null, ProductType.BOOK, null, null, true);
+        Specification<Product> specification = mappingService.createSpecificationFromFilter(filter);
+        return productReader.findAll(specification, Sort.by("title"));
     }
 
     public List<ProductDTO> searchBooks(String query) {
-        List<Book> books = bookRepository.findByQueryAndActive(query, true);
-        return mappingService.toProductDTOListFromBooks(books);
+        ProductFilterDTO filter = new ProductFilterDTO(query, null, null, ProductType.BOOK, null, null, true);
+        Specification<Product> specification = mappingService.createSpecificationFromFilter(filter);
+        return productReader.findAll(specification, Sort.by("title"));
     }
 
     @Transactional
     public void deleteCategory(UUID categoryId) {
-        if (!categoryRepository.existsById(categoryId)) {
+        if (!categoryRegistry.exists(categoryId)) {
             throw new IllegalArgumentException("Category not found with ID: " + categoryId);
         }
         
@@ -154,6 +286,7 @@ public class CatalogDTOService {
         }
         
         categoryRepository.deleteById(categoryId);
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId, CategoryChangedEvent.ChangeType.DELETED));
     }
 
     @Transactional
@@ -162,5 +295,6 @@ public class CatalogDTOService {
             throw new IllegalArgumentException("Product not found with ID: " + productId);
         }
         productRepository.deleteById(productId);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, ChangeType.DELETED));
     }
 }
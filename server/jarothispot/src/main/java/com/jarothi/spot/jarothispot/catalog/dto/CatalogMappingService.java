@@ -1,6 +1,8 @@
 package com.jarothi.spot.jarothispot.catalog.dto;
 
 import com.jarothi.spot.jarothispot.catalog.*;
+import com.jarothi.spot.jarothispot.catalog.cache.CategoryRegistry;
+import com.jarothi.spot.jarothispot.catalog.search.ProductSearchEngine;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
@@ -18,15 +20,21 @@ public class CatalogMappingService {
     private final ProductMapper productMapper;
     private final BookMapper bookMapper;
     private final CategoryRepository categoryRepository;
+    private final ProductSearchEngine searchEngine;
+    private final CategoryRegistry categoryRegistry;
 
     public CatalogMappingService(CategoryMapper categoryMapper,
                                ProductMapper productMapper,
                                BookMapper bookMapper,
-                               CategoryRepository categoryRepository) {
+                               CategoryRepository categoryRepository,
+                               ProductSearchEngine searchEngine,
+                               CategoryRegistry categoryRegistry) {
         this.categoryMapper = categoryMapper;
         this.productMapper = productMapper;
         this.bookMapper = bookMapper;
         this.categoryRepository = categoryRepository;
+        this.searchEngine = searchEngine;
+        this.categoryRegistry = categoryRegistry;
     }
 
     // Category mapping methods
@@ -103,28 +111,24 @@ public class CatalogMappingService {
 
     /**
      * Helper method to find categories by their IDs
+     * Existence is checked against the category registry, so invalid requests are
+     * rejected without touching the database
      */
     private Set<Category> findCategoriesByIds(List<UUID> categoryIds) {
         if (categoryIds == null || categoryIds.isEmpty()) {
             return new HashSet<>();
         }
         
-        List<Category> categories = categoryRepository.findAllById(categoryIds);
-        
-        // Validate that all requested categories were found
-        if (categories.size() != categoryIds.size()) {
-            Set<UUID> foundIds = categories.stream()
-                .map(Category::getId)
-                .collect(Collectors.toSet());
-            
-            List<UUID> missingIds = categoryIds.stream()
-                .filter(id -> !foundIds.contains(id))
-                .toList();
-                
+        // Validate that all requested categories exist
+        List<UUID> missingIds = categoryIds.stream()
+            .filter(id -> !categoryRegistry.exists(id))
+            .toList();
+        if (!missingIds.isEmpty()) {
             throw new IllegalArgumentException("Categories not found with IDs: " + missingIds);
         }
         
-        return new HashSet<>(categories);
+        // Managed instances are still needed: saving the product cascades a merge to its categories
+        return new HashSet<>(categoryRepository.findAllById(categoryIds));
     }
 
     /**
@@ -148,11 +152,14 @@ public class CatalogMappingService {
             return;
         }
         
-        List<Category> categories = categoryRepository.findAllById(categoryIds);
+        List<CategoryDTO> categories = categoryIds.stream()
+            .map(categoryRegistry::findById)
+            .flatMap(Optional::stream)
+            .toList();
         
         if (productType == ProductType.BOOK) {
             boolean hasInvalidType = categories.stream()
-                .anyMatch(cat -> cat.getType() != CategoryType.GENRE_BOOK);
+                .anyMatch(cat -> cat.type() != CategoryType.GENRE_BOOK);
             if (hasInvalidType) {
                 throw new IllegalArgumentException("Books can only have GENRE_BOOK categories");
             }
@@ -164,12 +171,22 @@ public class CatalogMappingService {
      * Convert ProductFilterDTO to JPA Specification for filtering
      */
     public Specification<Product> createSpecificationFromFilter(ProductFilterDTO filter) {
-        Specification<Product> spec = ProductSpecifications.isActive(filter.getActiveFilter());
+        Specification<Product> spec = createSpecificationWithoutQuery(filter);
         
         if (filter.query() != null && !filter.query().trim().isEmpty()) {
-            spec = spec.and(ProductSpecifications.hasQuery(filter.query()));
+            spec = spec.and(searchEngine.hasQuery(filter.query()));
         }
         
+        return spec;
+    }
+
+    /**
+     * Convert every filter but the text query to a JPA Specification, for reads that
+     * apply the query themselves in relevance order
+     */
+    public Specification<Product> createSpecificationWithoutQuery(ProductFilterDTO filter) {
+        Specification<Product> spec = ProductSpecifications.isActive(filter.getActiveFilter());
+        
         if (filter.categoryId() != null) {
             spec = spec.and(ProductSpecifications.hasCategoryId(filter.categoryId()));
         }
@@ -0,0 +1,16 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import com.jarothi.spot.jarothispot.catalog.CategoryType;
+
+import java.util.UUID;
+
+/**
+ * DTO for the number of matching products in a category
+ */
+public record CategoryFacetDTO(
+    UUID id,
+    String name,
+    String colorHex,
+    CategoryType type,
+    long count
+) {}
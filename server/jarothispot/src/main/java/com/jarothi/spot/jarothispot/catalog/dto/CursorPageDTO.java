@@ -0,0 +1,12 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a keyset (cursor) paginated result.
+ * No total count is computed; next is null on the last page.
+ */
+public record CursorPageDTO<T>(
+    List<T> items,
+    String next
+) {}
@@ -0,0 +1,22 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "catalog.facets")
+public class FacetProperties {
+    // Ascending lower bounds of the default price histogram buckets
+    private List<BigDecimal> priceBounds = new ArrayList<>(List.of(
+        BigDecimal.ZERO, BigDecimal.valueOf(10), BigDecimal.valueOf(20), BigDecimal.valueOf(50), BigDecimal.valueOf(100)));
+    private int maxPriceBuckets = 50;
+
+    // Getters and setters
+    public List<BigDecimal> getPriceBounds() { return priceBounds; }
+    public void setPriceBounds(List<BigDecimal> priceBounds) { this.priceBounds = priceBounds; }
+
+    public int getMaxPriceBuckets() { return maxPriceBuckets; }
+    public void setMaxPriceBuckets(int maxPriceBuckets) { this.maxPriceBuckets = maxPriceBuckets; }
+}
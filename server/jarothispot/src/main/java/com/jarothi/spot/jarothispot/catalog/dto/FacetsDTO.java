@@ -0,0 +1,12 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the facet counts of a filtered product listing
+ */
+public record FacetsDTO(
+    long total,
+    List<CategoryFacetDTO> categories,
+    List<PriceBucketDTO> priceBuckets
+) {}
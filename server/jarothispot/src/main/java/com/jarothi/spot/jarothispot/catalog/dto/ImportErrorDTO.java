@@ -0,0 +1,9 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+/**
+ * A rejected row of a bulk import; row is the 1-based data row (CSV header excluded)
+ */
+public record ImportErrorDTO(
+    long row,
+    String message
+) {}
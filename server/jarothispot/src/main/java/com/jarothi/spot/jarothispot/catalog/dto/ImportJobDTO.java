@@ -0,0 +1,29 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress and outcome of a bulk product import
+ */
+public record ImportJobDTO(
+    UUID id,
+    String format,
+    Status status,
+    long processedRows,
+    long importedRows,
+    long failedRows,
+    List<ImportErrorDTO> errors,
+    String message,
+    Instant submittedAt,
+    Instant finishedAt
+) {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
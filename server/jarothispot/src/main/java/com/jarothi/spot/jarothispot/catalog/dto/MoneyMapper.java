@@ -0,0 +1,19 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import com.jarothi.spot.jarothispot.common.Money;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+
+import java.math.BigDecimal;
+
+/**
+ * MapStruct conversions between request amounts (BigDecimal, validated by Bean Validation)
+ * and {@link Money}
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface MoneyMapper {
+
+    default Money toMoney(BigDecimal amount) {
+        return amount == null ? null : Money.of(amount);
+    }
+}
@@ -0,0 +1,13 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the number of matching products priced in [from, to).
+ * from is null for the bucket below the first bound, to is null above the last one.
+ */
+public record PriceBucketDTO(
+    BigDecimal from,
+    BigDecimal to,
+    long count
+) {}
@@ -0,0 +1,16 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import com.jarothi.spot.jarothispot.common.Money;
+
+import java.util.UUID;
+
+/**
+ * Current stock, price and active flag of a product that changed, as pushed to the change
+ * stream. A deleted product is sent inactive, without stock or price.
+ */
+public record ProductChangeDTO(
+    UUID id,
+    Integer stock,
+    Money price,
+    boolean active
+) {}
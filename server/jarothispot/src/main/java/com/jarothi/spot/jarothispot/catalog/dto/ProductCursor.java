@@ -0,0 +1,58 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import com.jarothi.spot.jarothispot.common.Money;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Position of the last product returned by a keyset paginated listing.
+ * Encoded as an opaque URL-safe token so clients just echo it back in ?after=
+ */
+public record ProductCursor(
+    String property,
+    Sort.Direction direction,
+    UUID lastId,
+    Comparable<?> lastValue
+) {
+
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of("title", "price");
+
+    private static final String SEPARATOR = "|";
+
+    public ProductCursor {
+        if (!SORTABLE_PROPERTIES.contains(property)) {
+            throw new IllegalArgumentException("Cursor pagination only supports sorting by " + SORTABLE_PROPERTIES);
+        }
+    }
+
+    /**
+     * Build the cursor pointing after the given product
+     */
+    public static ProductCursor after(ProductDTO product, String property, Sort.Direction direction) {
+        Comparable<?> value = "price".equals(property) ? product.price() : product.title();
+        return new ProductCursor(property, direction, product.id(), value);
+    }
+
+    public String encode() {
+        String value = lastValue.toString();
+        String raw = String.join(SEPARATOR, property, direction.name(), lastId.toString(), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value goes last because titles may contain the separator
+            String[] parts = raw.split("\\|", 4);
+            String property = parts[0];
+            Comparable<?> value = "price".equals(property) ? Money.parse(parts[3]) : parts[3];
+            return new ProductCursor(property, Sort.Direction.valueOf(parts[1]), UUID.fromString(parts[2]), value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.jarothi.spot.jarothispot.catalog.dto;
 
 import com.jarothi.spot.jarothispot.catalog.ProductType;
+import com.jarothi.spot.jarothispot.common.Money;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,7 +14,7 @@ public record ProductDTO(
     ProductType productType,
     String title,
     String description,
-    BigDecimal price,
+    Money price,
     String imageUrl,
     boolean active,
     List<CategoryDTO> categories
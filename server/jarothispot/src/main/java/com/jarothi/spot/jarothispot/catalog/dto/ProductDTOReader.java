@@ -0,0 +1,205 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import com.jarothi.spot.jarothispot.catalog.Book;
+import com.jarothi.spot.jarothispot.catalog.Product;
+import com.jarothi.spot.jarothispot.catalog.ProductRepository;
+import com.jarothi.spot.jarothispot.catalog.ProductSpecifications;
+import com.jarothi.spot.jarothispot.catalog.ProductType;
+import com.jarothi.spot.jarothispot.catalog.cache.CategoryRegistry;
+import com.jarothi.spot.jarothispot.common.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Read path that builds ProductDTOs from two set-based queries instead of mapping entities:
+ * one scalar projection for the page of products, then one IN query for their category links.
+ * No Product or Category entity is hydrated, so nothing is added to the persistence context
+ * and no dirty-check snapshots are kept.
+ */
+@Component
+@Transactional(readOnly = true)
+public class ProductDTOReader {
+
+    private static final Comparator<CategoryDTO> BY_NAME = Comparator.comparing(CategoryDTO::name);
+
+    private static final String CATEGORY_LINKS_QUERY = """
+        SELECT p.id, c.id
+        FROM Product p JOIN p.categories c
+        WHERE p.id IN :productIds
+        """;
+
+    private final EntityManager entityManager;
+    private final ProductRepository productRepository;
+    private final CategoryRegistry categoryRegistry;
+
+    public ProductDTOReader(EntityManager entityManager,
+                            ProductRepository productRepository,
+                            CategoryRegistry categoryRegistry) {
+        this.entityManager = entityManager;
+        this.productRepository = productRepository;
+        this.categoryRegistry = categoryRegistry;
+    }
+
+    /**
+     * Find all products matching the specification
+     */
+    public List<ProductDTO> findAll(Specification<Product> specification, Sort sort) {
+        return read(specification, sort, 0, -1);
+    }
+
+    /**
+     * Find at most limit products matching the specification
+     */
+    public List<ProductDTO> findAll(Specification<Product> specification, Sort sort, int limit) {
+        return read(specification, sort, 0, limit);
+    }
+
+    /**
+     * Find the products with the given IDs, in the order of the list; unknown IDs are left out
+     */
+    public List<ProductDTO> findAllInOrder(List<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Integer> positions = new HashMap<>(productIds.size() * 2);
+        for (int i = 0; i < productIds.size(); i++) {
+            positions.put(productIds.get(i), i);
+        }
+        List<ProductDTO> products = new ArrayList<>(read(ProductSpecifications.hasIdIn(productIds), Sort.unsorted(), 0, -1));
+        products.sort(Comparator.comparing(product -> positions.get(product.id())));
+        return products;
+    }
+
+    /**
+     * Find a page of products; the count query is skipped when the page itself tells the total
+     */
+    public Page<ProductDTO> findPage(Specification<Product> specification, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return PageableExecutionUtils.getPage(findAll(specification, pageable.getSort()), pageable, () -> 0L);
+        }
+        List<ProductDTO> content = read(specification, pageable.getSort(),
+            pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> productRepository.count(specification));
+    }
+
+    /**
+     * Find a slice of products, fetching one extra row to know whether there is a next one
+     */
+    public Slice<ProductDTO> findSlice(Specification<Product> specification, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(findAll(specification, pageable.getSort()), pageable, false);
+        }
+        List<ProductDTO> content = read(specification, pageable.getSort(),
+            pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private List<ProductDTO> read(Specification<Product> specification, Sort sort, long offset, int limit) {
+        List<Tuple> rows = findProductRows(specification, sort, offset, limit);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> productIds = rows.stream().map(row -> row.get("id", UUID.class)).toList();
+        Map<UUID, List<CategoryDTO>> categoriesByProduct = findCategories(productIds);
+
+        List<ProductDTO> products = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            UUID id = row.get("id", UUID.class);
+            products.add(new ProductDTO(
+                id,
+                toProductType((Class<?>) row.get("type")),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                row.get("price", Money.class),
+                row.get("imageUrl", String.class),
+                row.get("active", Boolean.class),
+                categoriesByProduct.getOrDefault(id, List.of())
+            ));
+        }
+        return products;
+    }
+
+    private List<Tuple> findProductRows(Specification<Product> specification, Sort sort, long offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        query.multiselect(
+            root.get("id").alias("id"),
+            root.type().alias("type"),
+            root.get("title").alias("title"),
+            root.get("description").alias("description"),
+            root.get("price").alias("price"),
+            root.get("imageUrl").alias("imageUrl"),
+            root.get("active").alias("active")
+        );
+
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .setFirstResult(Math.toIntExact(offset));
+        if (limit >= 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * Only the (product, category) links come from the database; category details
+     * are resolved from the in-memory category registry
+     */
+    private Map<UUID, List<CategoryDTO>> findCategories(Collection<UUID> productIds) {
+        List<Object[]> rows = entityManager.createQuery(CATEGORY_LINKS_QUERY, Object[].class)
+            .setParameter("productIds", productIds)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultList();
+
+        Map<UUID, List<CategoryDTO>> categoriesByProduct = new HashMap<>();
+        for (Object[] row : rows) {
+            categoryRegistry.findById((UUID) row[1]).ifPresent(category ->
+                categoriesByProduct.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add(category));
+        }
+        categoriesByProduct.values().forEach(categories -> categories.sort(BY_NAME));
+        return categoriesByProduct;
+    }
+
+    private static ProductType toProductType(Class<?> type) {
+        if (Book.class.equals(type)) {
+            return ProductType.BOOK;
+        }
+        // Add other product types here as they are implemented
+        throw new IllegalArgumentException("Unknown product type: " + type.getSimpleName());
+    }
+}
@@ -0,0 +1,136 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import com.jarothi.spot.jarothispot.catalog.ProductRepository;
+import com.jarothi.spot.jarothispot.catalog.cache.CategoryRegistry;
+import com.jarothi.spot.jarothispot.catalog.search.ProductSearchEngine;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Service computing facet counts (per category and price histogram) for product listings
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProductFacetService {
+
+    private static final int CATEGORY_ROWS = 1;
+    private static final int BUCKET_ROWS = 2;
+    private static final int TOTAL_ROW = 3;
+
+    private final ProductRepository productRepository;
+    private final ProductSearchEngine searchEngine;
+    private final CategoryRegistry categoryRegistry;
+    private final FacetProperties facetProperties;
+
+    public ProductFacetService(ProductRepository productRepository,
+                               ProductSearchEngine searchEngine,
+                               CategoryRegistry categoryRegistry,
+                               FacetProperties facetProperties) {
+        this.productRepository = productRepository;
+        this.searchEngine = searchEngine;
+        this.categoryRegistry = categoryRegistry;
+        this.facetProperties = facetProperties;
+    }
+
+    /**
+     * Count the products matching the filter per category (every category is listed,
+     * including empty ones) and per price bucket, with a single grouped query
+     *
+     * @param priceBounds ascending bucket lower bounds, or null for the configured defaults
+     */
+    public FacetsDTO getFacets(ProductFilterDTO filter, List<BigDecimal> priceBounds) {
+        List<BigDecimal> bounds = priceBounds == null || priceBounds.isEmpty()
+            ? facetProperties.getPriceBounds()
+            : priceBounds;
+        validatePriceBounds(bounds);
+
+        // The text filter is resolved by the configured search engine, as for the listing itself:
+        // in the query when the engine matches in PostgreSQL, otherwise as the full list of matches
+        String productIds = null;
+        String query = null;
+        if (filter.query() != null && !filter.query().trim().isEmpty()) {
+            if (searchEngine.matchesInDatabase()) {
+                query = filter.query().trim();
+            } else {
+                List<UUID> matches = searchEngine.search(filter.query(), Integer.MAX_VALUE);
+                productIds = toArrayLiteral(matches.stream().map(UUID::toString).toList());
+            }
+        }
+
+        List<Object[]> rows = productRepository.countFacets(
+            productIds,
+            query,
+            filter.categoryId(),
+            filter.productType() != null ? filter.productType().name() : null,
+            filter.minPrice(),
+            filter.maxPrice(),
+            filter.getActiveFilter(),
+            toArrayLiteral(bounds.stream().map(BigDecimal::toPlainString).toList())
+        );
+
+        long total = 0;
+        Map<UUID, Long> categoryCounts = new HashMap<>();
+        long[] bucketCounts = new long[bounds.size() + 1];
+        for (Object[] row : rows) {
+            int groupingSet = ((Number) row[0]).intValue();
+            long count = ((Number) row[3]).longValue();
+            if (groupingSet == CATEGORY_ROWS && row[1] != null) {
+                categoryCounts.put((UUID) row[1], count);
+            } else if (groupingSet == BUCKET_ROWS) {
+                bucketCounts[((Number) row[2]).intValue()] = count;
+            } else if (groupingSet == TOTAL_ROW) {
+                total = count;
+            }
+        }
+
+        List<CategoryFacetDTO> categories = categoryRegistry.findAll().stream()
+            .map(category -> new CategoryFacetDTO(category.id(), category.name(), category.colorHex(),
+                category.type(), categoryCounts.getOrDefault(category.id(), 0L)))
+            .toList();
+
+        return new FacetsDTO(total, categories, toPriceBuckets(bounds, bucketCounts));
+    }
+
+    /**
+     * width_bucket numbers prices below the first bound 0, prices in [bounds[i-1], bounds[i]) i
+     * and prices from the last bound up bounds.size(). The bucket below the first bound is only
+     * listed when it is not empty.
+     */
+    private static List<PriceBucketDTO> toPriceBuckets(List<BigDecimal> bounds, long[] bucketCounts) {
+        List<PriceBucketDTO> buckets = new ArrayList<>(bucketCounts.length);
+        if (bucketCounts[0] > 0) {
+            buckets.add(new PriceBucketDTO(null, bounds.get(0), bucketCounts[0]));
+        }
+        for (int i = 1; i < bucketCounts.length; i++) {
+            BigDecimal to = i < bounds.size() ? bounds.get(i) : null;
+            buckets.add(new PriceBucketDTO(bounds.get(i - 1), to, bucketCounts[i]));
+        }
+        return buckets;
+    }
+
+    private void validatePriceBounds(List<BigDecimal> bounds) {
+        if (bounds.size() > facetProperties.getMaxPriceBuckets()) {
+            throw new IllegalArgumentException("At most " + facetProperties.getMaxPriceBuckets() + " price buckets are allowed");
+        }
+        for (int i = 0; i < bounds.size(); i++) {
+            if (bounds.get(i) == null) {
+                throw new IllegalArgumentException("Price bounds must not be empty");
+            }
+            if (i > 0 && bounds.get(i).compareTo(bounds.get(i - 1)) <= 0) {
+                throw new IllegalArgumentException("Price bounds must be strictly ascending");
+            }
+        }
+    }
+
+    private static String toArrayLiteral(List<String> values) {
+        return values.stream().collect(Collectors.joining(",", "{", "}"));
+    }
+}
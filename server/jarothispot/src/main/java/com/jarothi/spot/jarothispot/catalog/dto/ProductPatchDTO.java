@@ -0,0 +1,14 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * One change of a bulk product update; fields left null keep their current value
+ */
+public record ProductPatchDTO(
+    UUID id,
+    BigDecimal price,
+    Integer stock,
+    Boolean active
+) {}
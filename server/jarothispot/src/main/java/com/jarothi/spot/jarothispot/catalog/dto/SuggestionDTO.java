@@ -0,0 +1,18 @@
+package com.jarothi.spot.jarothispot.catalog.dto;
+
+import java.util.UUID;
+
+/**
+ * DTO for a typeahead suggestion: a product title or a category name
+ */
+public record SuggestionDTO(
+    String text,
+    Type type,
+    UUID id
+) {
+
+    public enum Type {
+        PRODUCT,
+        CATEGORY
+    }
+}
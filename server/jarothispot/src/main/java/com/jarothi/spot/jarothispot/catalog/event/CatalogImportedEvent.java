@@ -0,0 +1,14 @@
+package com.jarothi.spot.jarothispot.catalog.event;
+
+import java.util.UUID;
+
+/**
+ * Published once a bulk import or bulk update has finished writing products. Both write with
+ * plain JDBC in many transactions, so no per-product events are sent; in-memory views of the
+ * catalog reload themselves when they receive this one. It is published with reads pinned to
+ * the primary, so those reloads see every row just written.
+ */
+public record CatalogImportedEvent(
+    UUID jobId,
+    long importedCount
+) {}
@@ -0,0 +1,19 @@
+package com.jarothi.spot.jarothispot.catalog.event;
+
+import java.util.UUID;
+
+/**
+ * Published by the catalog write paths whenever a category is created, updated
+ * or deleted. Listeners should react after commit.
+ */
+public record CategoryChangedEvent(
+    UUID categoryId,
+    ChangeType changeType
+) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,20 @@
+package com.jarothi.spot.jarothispot.catalog.event;
+
+import java.util.UUID;
+
+/**
+ * Published by the catalog write paths whenever a product is created, updated,
+ * deactivated or deleted. Listeners should react after commit.
+ */
+public record ProductChangedEvent(
+    UUID productId,
+    ChangeType changeType
+) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DEACTIVATED,
+        DELETED
+    }
+}
@@ -0,0 +1,14 @@
+package com.jarothi.spot.jarothispot.catalog.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published after each committed chunk of a bulk import or bulk update, with the products it
+ * wrote. Caches evict just those products right away, instead of serving them stale until the
+ * job ends; in-memory views of the catalog still reload once, on the closing
+ * {@link CatalogImportedEvent}.
+ */
+public record ProductsWrittenEvent(
+    List<UUID> productIds
+) {}
@@ -0,0 +1,49 @@
+package com.jarothi.spot.jarothispot.catalog.event;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Products changed while an in-memory view of the catalog is being rebuilt.
+ *
+ * A rebuild reads the catalog before it takes its lock to swap the result in, so a
+ * {@link ProductChangedEvent} applied to the old view in between would be lost with the swap.
+ * Listeners record the product here before applying it; once the rebuild has swapped, it
+ * reloads every product recorded since {@link #begin()}. Rebuilds may overlap: recording only
+ * stops when the last one ends, and each gets every product recorded while it ran.
+ */
+public class RebuildChangeLog {
+
+    // Guarded by this
+    private final Set<UUID> changed = new LinkedHashSet<>();
+    private int rebuilds;
+
+    /**
+     * Start recording, before the rebuild reads the catalog
+     */
+    public synchronized void begin() {
+        rebuilds++;
+    }
+
+    /**
+     * Record a changed product if a rebuild is running
+     */
+    public synchronized void record(UUID productId) {
+        if (rebuilds > 0) {
+            changed.add(productId);
+        }
+    }
+
+    /**
+     * End a rebuild after its swap, returning the products to reload in the order they changed
+     */
+    public synchronized List<UUID> end() {
+        List<UUID> recorded = List.copyOf(changed);
+        if (--rebuilds == 0) {
+            changed.clear();
+        }
+        return recorded;
+    }
+}
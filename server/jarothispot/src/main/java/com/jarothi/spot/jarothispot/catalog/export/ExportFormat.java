@@ -0,0 +1,45 @@
+package com.jarothi.spot.jarothispot.catalog.export;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * File format of catalog exports and bulk imports
+ */
+public enum ExportFormat {
+    /** One JSON product per line */
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    /** Header row followed by one comma separated product per line */
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parse the value of a ?format= request parameter, case insensitive
+     */
+    public static ExportFormat fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid file format: " + value + " (expected ndjson or csv)");
+        }
+    }
+}
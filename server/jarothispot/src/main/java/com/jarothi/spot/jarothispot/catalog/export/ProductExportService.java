@@ -0,0 +1,181 @@
+package com.jarothi.spot.jarothispot.catalog.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jarothi.spot.jarothispot.catalog.ProductType;
+import com.jarothi.spot.jarothispot.catalog.cache.CategoryRegistry;
+import com.jarothi.spot.jarothispot.catalog.dto.CategoryDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTO;
+import com.jarothi.spot.jarothispot.common.Money;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams every active product to an output stream through a forward-only database cursor.
+ *
+ * Rows are read as scalars (category IDs aggregated per row, resolved through the
+ * {@link CategoryRegistry}), so no entity is hydrated and the persistence context stays
+ * empty; each row is written as soon as it is read and memory use does not depend on the
+ * size of the catalog.
+ */
+@Service
+public class ProductExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductExportService.class);
+
+    // Rows per round trip; PostgreSQL only honours it inside a transaction
+    static final int FETCH_SIZE = 500;
+    // Rows written between explicit flushes to the client
+    private static final int FLUSH_INTERVAL = 1_000;
+
+    private static final String CSV_HEADER = "id,productType,title,description,price,imageUrl,active,categories";
+
+    private static final String EXPORT_QUERY = """
+        SELECT p.id, p.product_type, p.title, p.description, p.price, p.image_url, p.active,
+               ARRAY_TO_STRING(ARRAY(
+                   SELECT pc.category_id FROM product_categories pc WHERE pc.product_id = p.id
+               ), ',') AS category_ids
+        FROM products p
+        WHERE p.active = true
+        ORDER BY p.id
+        """;
+
+    private static final Comparator<CategoryDTO> BY_NAME = Comparator.comparing(CategoryDTO::name);
+
+    private final EntityManager entityManager;
+    private final CategoryRegistry categoryRegistry;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ProductExportService(EntityManager entityManager,
+                                CategoryRegistry categoryRegistry,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.categoryRegistry = categoryRegistry;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Write all active products to the stream in the given format, returning the row count
+     */
+    public long export(ExportFormat format, OutputStream outputStream) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        Long exported = readOnlyTransaction.execute(status -> {
+            try (Stream<?> cursor = openCursor()) {
+                if (format == ExportFormat.CSV) {
+                    writer.write(CSV_HEADER);
+                    writer.write('\n');
+                }
+                long count = 0;
+                Iterator<?> rows = cursor.iterator();
+                while (rows.hasNext()) {
+                    ProductDTO product = toProduct((Object[]) rows.next());
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(writer, product);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(product));
+                        writer.write('\n');
+                    }
+                    if (++count % FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Catalog export interrupted", e);
+            }
+        });
+        logger.info("Exported {} products as {}", exported, format);
+        return exported == null ? 0 : exported;
+    }
+
+    private Stream<?> openCursor() {
+        return entityManager.createNativeQuery(EXPORT_QUERY)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    private ProductDTO toProduct(Object[] row) {
+        return new ProductDTO(
+            (UUID) row[0],
+            ProductType.valueOf((String) row[1]),
+            (String) row[2],
+            (String) row[3],
+            Money.of((BigDecimal) row[4]),
+            (String) row[5],
+            (Boolean) row[6],
+            toCategories((String) row[7])
+        );
+    }
+
+    private List<CategoryDTO> toCategories(String categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return List.of();
+        }
+        List<CategoryDTO> categories = new ArrayList<>();
+        for (String id : categoryIds.split(",")) {
+            categoryRegistry.findById(UUID.fromString(id)).ifPresent(categories::add);
+        }
+        categories.sort(BY_NAME);
+        return categories;
+    }
+
+    private static void writeCsv(Writer writer, ProductDTO product) throws IOException {
+        writer.write(product.id().toString());
+        writer.write(',');
+        writer.write(product.productType().name());
+        writer.write(',');
+        writer.write(csvField(product.title()));
+        writer.write(',');
+        writer.write(csvField(product.description()));
+        writer.write(',');
+        writer.write(product.price().toString());
+        writer.write(',');
+        writer.write(csvField(product.imageUrl()));
+        writer.write(',');
+        writer.write(Boolean.toString(product.active()));
+        writer.write(',');
+        writer.write(csvField(product.categories().stream()
+            .map(CategoryDTO::name)
+            .collect(Collectors.joining("|"))));
+        writer.write('\n');
+    }
+
+    /**
+     * RFC 4180 quoting: fields containing a comma, quote or line break are quoted
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,196 @@
+package com.jarothi.spot.jarothispot.catalog.listing;
+
+import com.jarothi.spot.jarothispot.catalog.Product;
+import com.jarothi.spot.jarothispot.catalog.ProductRepository;
+import com.jarothi.spot.jarothispot.catalog.ProductSpecifications;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTOReader;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductFilterDTO;
+import com.jarothi.spot.jarothispot.catalog.event.CatalogImportedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.CategoryChangedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductChangedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.RebuildChangeLog;
+import com.jarothi.spot.jarothispot.catalog.search.ProductSearchEngine;
+import com.jarothi.spot.jarothispot.common.CappedPage;
+import com.jarothi.spot.jarothispot.common.TotalsMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Listing engine answering from a memory-resident {@link ColumnarSnapshot} of the catalog
+ * (catalog.listing.engine=columnar). Filters become bitset intersections and sorting a walk
+ * over a precomputed order, so the exact total is always free. The totals mode still decides
+ * the result type, exactly as with the JPA engine.
+ *
+ * The snapshot is loaded when the application is ready and updated one product at a time
+ * after each committed {@link ProductChangedEvent}, copying only the structures the row
+ * touches; a category change reloads it, since category names are part of every row.
+ * Products changed while it is reloaded are applied again after the swap (see
+ * {@link RebuildChangeLog}).
+ * Until it is loaded, for sort orders other than title, price or relevance, and for title
+ * orders under a collation the snapshot cannot reproduce, requests are delegated to the
+ * {@link JpaListingEngine}.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "catalog.listing", name = "engine", havingValue = "columnar")
+public class ColumnarListingEngine implements ProductListingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarListingEngine.class);
+    private static final Set<String> CODE_POINT_COLLATIONS = Set.of("C", "POSIX", "C.UTF-8", "C.utf8");
+
+    private final ProductDTOReader productReader;
+    private final ProductSearchEngine searchEngine;
+    private final JpaListingEngine fallback;
+    private final ProductRepository productRepository;
+    private final RebuildChangeLog rebuildChanges = new RebuildChangeLog();
+    private volatile ColumnarSnapshot snapshot;
+    private volatile boolean codePointCollation;
+
+    public ColumnarListingEngine(ProductDTOReader productReader,
+                                 ProductSearchEngine searchEngine,
+                                 JpaListingEngine fallback,
+                                 ProductRepository productRepository) {
+        this.productReader = productReader;
+        this.searchEngine = searchEngine;
+        this.fallback = fallback;
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public Slice<ProductDTO> findProducts(ProductFilterDTO filter, Pageable pageable, TotalsMode totals) {
+        ColumnarSnapshot current = snapshot;
+        if (current == null || !ColumnarSnapshot.supports(pageable.getSort()) || !titleOrderSupported(pageable.getSort())) {
+            return fallback.findProducts(filter, pageable, totals);
+        }
+
+        // Every match, best first: the ranked list doubles as the relevance order
+        List<UUID> textMatches = null;
+        if (filter.query() != null && !filter.query().trim().isEmpty()) {
+            textMatches = searchEngine.search(filter.query(), Integer.MAX_VALUE);
+        }
+
+        BitSet matches = current.match(filter, textMatches);
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() + 1 : Integer.MAX_VALUE;
+        List<ProductDTO> content = page(current, matches, textMatches, pageable.getSort(), offset, limit);
+        boolean hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+
+        // Same result types as the JPA engine, though every total is free here
+        if (totals == TotalsMode.EXACT) {
+            return new PageImpl<>(content, pageable, matches.cardinality());
+        }
+        Slice<ProductDTO> products = new SliceImpl<>(content, pageable, hasNext);
+        if (totals == TotalsMode.NONE) {
+            return products;
+        }
+        long matchCount = matches.cardinality();
+        return CappedPage.of(products, CappedPage.DEFAULT_CAP, () -> Math.min(matchCount, CappedPage.DEFAULT_CAP + 1L));
+    }
+
+    /**
+     * The snapshot sorts titles in code point order, which is what PostgreSQL does only under
+     * the C collation; with any other collation title pages are read from the database
+     */
+    private boolean titleOrderSupported(Sort sort) {
+        Sort.Order order = sort.getOrderFor(ColumnarSnapshot.TITLE);
+        return order == null || codePointCollation;
+    }
+
+    private static List<ProductDTO> page(ColumnarSnapshot snapshot, BitSet matches, List<UUID> textMatches,
+                                         Sort sort, long offset, int limit) {
+        if (textMatches != null && ProductSearchEngine.isRelevance(sort)) {
+            return snapshot.page(matches, textMatches, offset, limit);
+        }
+        return snapshot.page(matches, sort, offset, limit);
+    }
+
+    /**
+     * Load every product into a new snapshot and swap it in
+     */
+    @EventListener({ApplicationReadyEvent.class, CatalogImportedEvent.class})
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        ColumnarSnapshot loaded;
+        List<UUID> changed;
+        rebuildChanges.begin();
+        try {
+            codePointCollation = CODE_POINT_COLLATIONS.contains(productRepository.findDatabaseCollation());
+            loaded = ColumnarSnapshot.of(productReader.findAll(allProducts(), Sort.unsorted()));
+            synchronized (this) {
+                snapshot = loaded;
+            }
+        } finally {
+            changed = rebuildChanges.end();
+        }
+        if (!changed.isEmpty()) {
+            Map<UUID, ProductDTO> products = new HashMap<>();
+            productReader.findAll(ProductSpecifications.hasIdIn(changed), Sort.unsorted())
+                .forEach(product -> products.put(product.id(), product));
+            changed.forEach(productId -> apply(productId, products.get(productId)));
+        }
+        logger.info("Columnar catalog snapshot built with {} products, {} reapplied after changes",
+            loaded.size(), changed.size());
+    }
+
+    // Runs after the search index and category registry, before the catalog version moves
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        rebuildChanges.record(event.productId());
+        if (snapshot == null) {
+            return;
+        }
+        ProductDTO product = event.changeType() == ProductChangedEvent.ChangeType.DELETED
+            ? null
+            : productReader.findAll(ProductSpecifications.hasIdIn(List.of(event.productId())), Sort.unsorted())
+                .stream().findFirst().orElse(null);
+        apply(event.productId(), product);
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (snapshot != null) {
+            rebuild();
+        }
+    }
+
+    // Serialize read-modify-write swaps so concurrent commits cannot drop each other's row
+    private synchronized void apply(UUID productId, ProductDTO product) {
+        snapshot = snapshot.with(productId, product);
+    }
+
+    private static Specification<Product> allProducts() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
+    }
+}
@@ -0,0 +1,439 @@
+package com.jarothi.spot.jarothispot.catalog.listing;
+
+import com.jarothi.spot.jarothispot.catalog.ProductSpecifications;
+import com.jarothi.spot.jarothispot.catalog.ProductType;
+import com.jarothi.spot.jarothispot.catalog.dto.CategoryDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductFilterDTO;
+import com.jarothi.spot.jarothispot.catalog.search.ProductSearchEngine;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable column-oriented view of the catalog. Every product is a row ordinal; filters are
+ * bitsets over those ordinals (active flag, one per category, one per product type) and prices
+ * are long cents kept in a sorted array, so a price range is two binary searches. Sort orders
+ * are precomputed ordinal arrays: a page is read by walking one of them and testing the
+ * result bitset, without allocating anything per row.
+ *
+ * A product write derives a new snapshot with {@link #with(UUID, ProductDTO)}: only the arrays
+ * and bitsets the row touches are copied, and the row is moved inside the sort orders by binary
+ * search. Removed products leave an empty row slot until the next full build.
+ */
+final class ColumnarSnapshot {
+
+    static final String TITLE = "title";
+    static final String PRICE = "price";
+
+    /**
+     * Code point order, which is the byte order of UTF-8 text under the C collation
+     */
+    static final Comparator<String> CODE_POINT_ORDER = ColumnarSnapshot::compareCodePoints;
+
+    // Ties are broken by ID in PostgreSQL's uuid order (unsigned, byte by byte)
+    private static final Comparator<UUID> ID_ORDER = Comparator
+        .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+        .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+    private static final Comparator<ProductDTO> BY_TITLE = Comparator
+        .comparing(ProductDTO::title, CODE_POINT_ORDER)
+        .thenComparing(ProductDTO::id, ID_ORDER);
+    private static final Comparator<ProductDTO> BY_PRICE = Comparator
+        .comparingLong((ProductDTO product) -> product.price().minorUnits())
+        .thenComparing(ProductDTO::id, ID_ORDER);
+
+    private final ProductDTO[] rows;
+    // Shared by every snapshot derived through with(): a row slot always belongs to the same
+    // product, and slots past the end of an older snapshot's rows are ignored by it
+    private final Map<UUID, Integer> rowById;
+    private final int removed;
+    private final BitSet present;
+    private final BitSet active;
+    private final Map<UUID, BitSet> byCategory;
+    private final Map<ProductType, BitSet> byType;
+    // Row ordinals sorted by (price, id), with the matching prices in cents
+    private final int[] priceOrder;
+    private final long[] sortedPrices;
+    // Row ordinals sorted by (title, id)
+    private final int[] titleOrder;
+
+    private ColumnarSnapshot(ProductDTO[] rows, Map<UUID, Integer> rowById, int removed,
+                             BitSet present, BitSet active,
+                             Map<UUID, BitSet> byCategory, Map<ProductType, BitSet> byType,
+                             int[] priceOrder, long[] sortedPrices, int[] titleOrder) {
+        this.rows = rows;
+        this.rowById = rowById;
+        this.removed = removed;
+        this.present = present;
+        this.active = active;
+        this.byCategory = byCategory;
+        this.byType = byType;
+        this.priceOrder = priceOrder;
+        this.sortedPrices = sortedPrices;
+        this.titleOrder = titleOrder;
+    }
+
+    static ColumnarSnapshot of(Collection<ProductDTO> products) {
+        ProductDTO[] rows = products.toArray(ProductDTO[]::new);
+        Map<UUID, Integer> rowById = new ConcurrentHashMap<>(rows.length * 2);
+        BitSet present = new BitSet(rows.length);
+        BitSet active = new BitSet(rows.length);
+        Map<UUID, BitSet> byCategory = new HashMap<>();
+        Map<ProductType, BitSet> byType = new EnumMap<>(ProductType.class);
+
+        for (int row = 0; row < rows.length; row++) {
+            ProductDTO product = rows[row];
+            rowById.put(product.id(), row);
+            present.set(row);
+            if (product.active()) {
+                active.set(row);
+            }
+            byType.computeIfAbsent(product.productType(), type -> new BitSet(rows.length)).set(row);
+            for (CategoryDTO category : product.categories()) {
+                byCategory.computeIfAbsent(category.id(), id -> new BitSet(rows.length)).set(row);
+            }
+        }
+
+        int[] priceOrder = sortedOrdinals(rows, BY_PRICE);
+        long[] sortedPrices = new long[rows.length];
+        for (int i = 0; i < priceOrder.length; i++) {
+            sortedPrices[i] = rows[priceOrder[i]].price().minorUnits();
+        }
+        return new ColumnarSnapshot(rows, rowById, 0, present, active, byCategory, byType,
+            priceOrder, sortedPrices, sortedOrdinals(rows, BY_TITLE));
+    }
+
+    /**
+     * A new snapshot with one product added, replaced, or removed (product null).
+     * Only the structures the row belongs to are copied; once a quarter of the slots are
+     * empty the snapshot is built again from the remaining rows.
+     */
+    ColumnarSnapshot with(UUID productId, ProductDTO product) {
+        int row = rowOf(productId);
+        ProductDTO previous = row >= 0 ? rows[row] : null;
+        if (previous == null && product == null) {
+            return this;
+        }
+        if (product == null && (removed + 1) * 4 > rows.length) {
+            List<ProductDTO> remaining = new ArrayList<>(rows.length - removed);
+            for (ProductDTO current : rows) {
+                if (current != null && !current.id().equals(productId)) {
+                    remaining.add(current);
+                }
+            }
+            return of(remaining);
+        }
+
+        // A removed product coming back reuses its empty slot
+        Integer slot = rowById.get(productId);
+        ProductDTO[] newRows;
+        if (row < 0 && (slot == null || slot >= rows.length)) {
+            row = rows.length;
+            newRows = Arrays.copyOf(rows, rows.length + 1);
+            rowById.put(productId, row);
+        } else {
+            row = slot;
+            newRows = rows.clone();
+        }
+        newRows[row] = product;
+
+        int[] newPriceOrder = priceOrder;
+        long[] newSortedPrices = sortedPrices;
+        if (previous == null || product == null || BY_PRICE.compare(previous, product) != 0) {
+            if (previous != null) {
+                int position = position(priceOrder, rows, previous, BY_PRICE);
+                newPriceOrder = remove(newPriceOrder, position);
+                newSortedPrices = remove(newSortedPrices, position);
+            }
+            if (product != null) {
+                int position = position(newPriceOrder, newRows, product, BY_PRICE);
+                newPriceOrder = insert(newPriceOrder, position, row);
+                newSortedPrices = insert(newSortedPrices, position, product.price().minorUnits());
+            }
+        }
+
+        int[] newTitleOrder = titleOrder;
+        if (previous == null || product == null || BY_TITLE.compare(previous, product) != 0) {
+            if (previous != null) {
+                newTitleOrder = remove(newTitleOrder, position(titleOrder, rows, previous, BY_TITLE));
+            }
+            if (product != null) {
+                newTitleOrder = insert(newTitleOrder, position(newTitleOrder, newRows, product, BY_TITLE), row);
+            }
+        }
+
+        BitSet newPresent = present;
+        if (previous == null || product == null) {
+            newPresent = toggled(present, row, product != null);
+        }
+        BitSet newActive = active;
+        boolean wasActive = previous != null && previous.active();
+        boolean isActive = product != null && product.active();
+        if (wasActive != isActive) {
+            newActive = toggled(active, row, isActive);
+        }
+
+        Map<ProductType, BitSet> newByType = byType;
+        ProductType previousType = previous != null ? previous.productType() : null;
+        ProductType type = product != null ? product.productType() : null;
+        if (previousType != type) {
+            newByType = new EnumMap<>(byType);
+            if (previousType != null) {
+                newByType.put(previousType, toggled(byType.get(previousType), row, false));
+            }
+            if (type != null) {
+                newByType.put(type, toggled(byType.getOrDefault(type, new BitSet()), row, true));
+            }
+        }
+
+        Set<UUID> previousCategories = categoryIds(previous);
+        Set<UUID> categories = categoryIds(product);
+        Map<UUID, BitSet> newByCategory = byCategory;
+        if (!previousCategories.equals(categories)) {
+            newByCategory = new HashMap<>(byCategory);
+            for (UUID categoryId : previousCategories) {
+                if (!categories.contains(categoryId)) {
+                    newByCategory.put(categoryId, toggled(byCategory.get(categoryId), row, false));
+                }
+            }
+            for (UUID categoryId : categories) {
+                if (!previousCategories.contains(categoryId)) {
+                    newByCategory.put(categoryId, toggled(byCategory.getOrDefault(categoryId, new BitSet()), row, true));
+                }
+            }
+        }
+
+        int newRemoved = removed + (product == null ? 1 : 0) - (previous == null && row < rows.length ? 1 : 0);
+        return new ColumnarSnapshot(newRows, rowById, newRemoved, newPresent, newActive,
+            newByCategory, newByType, newPriceOrder, newSortedPrices, newTitleOrder);
+    }
+
+    int size() {
+        return rows.length - removed;
+    }
+
+    /**
+     * Whether a page can be read in this order: unsorted, or a single title, price or relevance order
+     */
+    static boolean supports(Sort sort) {
+        if (sort.isUnsorted()) {
+            return true;
+        }
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() == 1
+            && (TITLE.equals(orders.get(0).getProperty()) || PRICE.equals(orders.get(0).getProperty())
+                || ProductSearchEngine.RELEVANCE.equals(orders.get(0).getProperty()));
+    }
+
+    /**
+     * Rows matching the filter, as a new bitset
+     *
+     * @param textMatches IDs matching the text query, or null when there is no text filter
+     */
+    BitSet match(ProductFilterDTO filter, Collection<UUID> textMatches) {
+        BitSet result = (BitSet) active.clone();
+        if (!filter.getActiveFilter()) {
+            result = (BitSet) present.clone();
+            result.andNot(active);
+        }
+
+        if (filter.productType() != null) {
+            result.and(byType.getOrDefault(filter.productType(), new BitSet()));
+        }
+        if (filter.categoryId() != null) {
+            result.and(byCategory.getOrDefault(filter.categoryId(), new BitSet()));
+        }
+        if (filter.minPrice() != null || filter.maxPrice() != null) {
+            result.and(priceRange(filter.minPrice(), filter.maxPrice()));
+        }
+        if (textMatches != null) {
+            BitSet text = new BitSet(rows.length);
+            for (UUID id : textMatches) {
+                int row = rowOf(id);
+                if (row >= 0) {
+                    text.set(row);
+                }
+            }
+            result.and(text);
+        }
+        return result;
+    }
+
+    /**
+     * Read up to limit matching rows in the given order, skipping the first offset matches
+     */
+    List<ProductDTO> page(BitSet matches, Sort sort, long offset, int limit) {
+        List<ProductDTO> page = new ArrayList<>(Math.max(0, Math.min(limit, matches.cardinality())));
+        if (limit <= 0) {
+            return page;
+        }
+
+        if (sort.isUnsorted()) {
+            long skipped = 0;
+            for (int row = matches.nextSetBit(0); row >= 0 && page.size() < limit; row = matches.nextSetBit(row + 1)) {
+                if (skipped++ >= offset) {
+                    page.add(rows[row]);
+                }
+            }
+            return page;
+        }
+
+        Sort.Order order = sort.iterator().next();
+        int[] ordinals = PRICE.equals(order.getProperty()) ? priceOrder : titleOrder;
+        boolean ascending = order.isAscending();
+        long skipped = 0;
+        for (int i = 0; i < ordinals.length && page.size() < limit; i++) {
+            int row = ordinals[ascending ? i : ordinals.length - 1 - i];
+            if (matches.get(row) && skipped++ >= offset) {
+                page.add(rows[row]);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Read up to limit matching rows in the order of the ranked IDs, skipping the first offset matches
+     */
+    List<ProductDTO> page(BitSet matches, List<UUID> ranked, long offset, int limit) {
+        List<ProductDTO> page = new ArrayList<>(Math.max(0, Math.min(limit, matches.cardinality())));
+        long skipped = 0;
+        for (int i = 0; i < ranked.size() && page.size() < limit; i++) {
+            int row = rowOf(ranked.get(i));
+            if (row >= 0 && matches.get(row) && skipped++ >= offset) {
+                page.add(rows[row]);
+            }
+        }
+        return page;
+    }
+
+    // Row of a product present in this snapshot, or -1
+    private int rowOf(UUID productId) {
+        Integer row = rowById.get(productId);
+        return row != null && row < rows.length && rows[row] != null ? row : -1;
+    }
+
+    private BitSet priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        int from = minPrice == null ? 0 : lowerBound(ProductSpecifications.lowerPriceBound(minPrice).minorUnits());
+        int to = maxPrice == null ? sortedPrices.length
+            : lowerBound(ProductSpecifications.upperPriceBound(maxPrice).minorUnits() + 1);
+        BitSet range = new BitSet(rows.length);
+        for (int i = from; i < to; i++) {
+            range.set(priceOrder[i]);
+        }
+        return range;
+    }
+
+    // First index whose price is >= cents
+    private int lowerBound(long cents) {
+        int low = 0;
+        int high = sortedPrices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] < cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First index of the order whose row does not sort before the product
+    private static int position(int[] order, ProductDTO[] rows, ProductDTO product, Comparator<ProductDTO> comparator) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(rows[order[mid]], product) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] sortedOrdinals(ProductDTO[] rows, Comparator<ProductDTO> comparator) {
+        Integer[] ordinals = new Integer[rows.length];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = i;
+        }
+        Arrays.sort(ordinals, (a, b) -> comparator.compare(rows[a], rows[b]));
+        return Arrays.stream(ordinals).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] insert(int[] values, int index, int value) {
+        int[] copy = new int[values.length + 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        copy[index] = value;
+        System.arraycopy(values, index, copy, index + 1, values.length - index);
+        return copy;
+    }
+
+    private static long[] insert(long[] values, int index, long value) {
+        long[] copy = new long[values.length + 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        copy[index] = value;
+        System.arraycopy(values, index, copy, index + 1, values.length - index);
+        return copy;
+    }
+
+    private static int[] remove(int[] values, int index) {
+        int[] copy = new int[values.length - 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        System.arraycopy(values, index + 1, copy, index, values.length - index - 1);
+        return copy;
+    }
+
+    private static long[] remove(long[] values, int index) {
+        long[] copy = new long[values.length - 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        System.arraycopy(values, index + 1, copy, index, values.length - index - 1);
+        return copy;
+    }
+
+    private static BitSet toggled(BitSet bits, int row, boolean value) {
+        BitSet copy = (BitSet) bits.clone();
+        copy.set(row, value);
+        return copy;
+    }
+
+    private static Set<UUID> categoryIds(ProductDTO product) {
+        if (product == null) {
+            return Set.of();
+        }
+        Set<UUID> ids = new HashSet<>();
+        for (CategoryDTO category : product.categories()) {
+            ids.add(category.id());
+        }
+        return ids;
+    }
+
+    private static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int left = a.codePointAt(i);
+            int right = b.codePointAt(j);
+            if (left != right) {
+                return Integer.compare(left, right);
+            }
+            i += Character.charCount(left);
+            j += Character.charCount(right);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+}
@@ -0,0 +1,94 @@
+package com.jarothi.spot.jarothispot.catalog.listing;
+
+import com.jarothi.spot.jarothispot.catalog.Product;
+import com.jarothi.spot.jarothispot.catalog.ProductRepository;
+import com.jarothi.spot.jarothispot.catalog.dto.CatalogMappingService;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTOReader;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductFilterDTO;
+import com.jarothi.spot.jarothispot.catalog.search.ProductSearchEngine;
+import com.jarothi.spot.jarothispot.common.CappedCounter;
+import com.jarothi.spot.jarothispot.common.CappedPage;
+import com.jarothi.spot.jarothispot.common.TotalsMode;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Listing engine translating the filter into a Criteria query (catalog.listing.engine=jpa).
+ * Sorting by relevance delegates the ordering to the configured search engine.
+ * Always registered, as it is also the fallback of the columnar engine.
+ */
+@Component
+@Transactional(readOnly = true)
+public class JpaListingEngine implements ProductListingEngine {
+
+    private final CatalogMappingService mappingService;
+    private final ProductDTOReader productReader;
+    private final CappedCounter cappedCounter;
+    private final ProductSearchEngine searchEngine;
+    private final ProductRepository productRepository;
+
+    public JpaListingEngine(CatalogMappingService mappingService,
+                            ProductDTOReader productReader,
+                            CappedCounter cappedCounter,
+                            ProductSearchEngine searchEngine,
+                            ProductRepository productRepository) {
+        this.mappingService = mappingService;
+        this.productReader = productReader;
+        this.cappedCounter = cappedCounter;
+        this.searchEngine = searchEngine;
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public Slice<ProductDTO> findProducts(ProductFilterDTO filter, Pageable pageable, TotalsMode totals) {
+        if (ProductSearchEngine.isRelevance(pageable.getSort())) {
+            return findByRelevance(filter, pageable, totals);
+        }
+
+        Specification<Product> specification = mappingService.createSpecificationFromFilter(filter);
+        if (totals == TotalsMode.EXACT) {
+            return productReader.findPage(specification, pageable);
+        }
+
+        Slice<ProductDTO> products = productReader.findSlice(specification, pageable);
+        if (totals == TotalsMode.NONE) {
+            return products;
+        }
+        return CappedPage.of(products, CappedPage.DEFAULT_CAP,
+            () -> cappedCounter.countUpTo(Product.class, specification, CappedPage.DEFAULT_CAP));
+    }
+
+    /**
+     * The search engine pages over its ranked matches; only that page of IDs is read back
+     * as products, keeping the rank order
+     */
+    private Slice<ProductDTO> findByRelevance(ProductFilterDTO filter, Pageable pageable, TotalsMode totals) {
+        Specification<Product> filters = mappingService.createSpecificationWithoutQuery(filter);
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() + 1 : Integer.MAX_VALUE;
+        List<UUID> ids = searchEngine.findRanked(filter.query(), filters, offset, limit);
+
+        boolean hasNext = pageable.isPaged() && ids.size() > pageable.getPageSize();
+        List<ProductDTO> content = productReader.findAllInOrder(hasNext ? ids.subList(0, pageable.getPageSize()) : ids);
+        Specification<Product> specification = filters.and(searchEngine.hasQuery(filter.query()));
+        if (totals == TotalsMode.EXACT) {
+            return PageableExecutionUtils.getPage(content, pageable, () -> productRepository.count(specification));
+        }
+
+        Slice<ProductDTO> products = new SliceImpl<>(content, pageable, hasNext);
+        if (totals == TotalsMode.NONE) {
+            return products;
+        }
+        return CappedPage.of(products, CappedPage.DEFAULT_CAP,
+            () -> cappedCounter.countUpTo(Product.class, specification, CappedPage.DEFAULT_CAP));
+    }
+}
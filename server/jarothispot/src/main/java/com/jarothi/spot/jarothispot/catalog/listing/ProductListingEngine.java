@@ -0,0 +1,20 @@
+package com.jarothi.spot.jarothispot.catalog.listing;
+
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductFilterDTO;
+import com.jarothi.spot.jarothispot.common.TotalsMode;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Backend answering the filtered product listing (GET /api/products).
+ * Selected with catalog.listing.engine: jpa (default) or columnar.
+ */
+public interface ProductListingEngine {
+
+    /**
+     * Find one page of products matching the filter; the totals mode decides whether
+     * a Slice, a capped Page or an exact Page is returned
+     */
+    Slice<ProductDTO> findProducts(ProductFilterDTO filter, Pageable pageable, TotalsMode totals);
+}
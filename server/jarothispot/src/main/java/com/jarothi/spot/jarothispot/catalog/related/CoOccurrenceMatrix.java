@@ -0,0 +1,171 @@
+package com.jarothi.spot.jarothispot.catalog.related;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Sparse symmetric matrix of how many orders contained each pair of products.
+ *
+ * Products are mapped to dense int ordinals; each row is an {@link IntCountMap} from related
+ * ordinal to count, next to a bounded array of the top-k related ordinals kept sorted by
+ * count. Counts only grow, so an order updates the top-k of each of its products in O(k)
+ * per pair: a related product already listed moves up, and one that now beats the last
+ * entry replaces it. Not thread safe.
+ */
+final class CoOccurrenceMatrix {
+
+    @FunctionalInterface
+    interface RowVisitor {
+        void accept(UUID productId, UUID relatedId, int count);
+    }
+
+    private final int topK;
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final List<UUID> productIds = new ArrayList<>();
+    private final List<IntCountMap> rows = new ArrayList<>();
+    // Related ordinals per product, best first, and how many of them are in use
+    private final List<int[]> tops = new ArrayList<>();
+    private int[] topSizes = new int[16];
+
+    CoOccurrenceMatrix(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * Count every pair of distinct products of one order
+     *
+     * @return the products whose top-k may have changed
+     */
+    Set<UUID> addOrder(Collection<UUID> orderProductIds) {
+        Set<UUID> distinct = new LinkedHashSet<>(orderProductIds);
+        if (distinct.size() < 2) {
+            return Set.of();
+        }
+        int[] members = distinct.stream().mapToInt(this::ordinal).toArray();
+        for (int product : members) {
+            for (int related : members) {
+                if (product != related) {
+                    offer(product, related, rows.get(product).add(related, 1));
+                }
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Set one directed count, when restoring a persisted matrix
+     */
+    void restore(UUID productId, UUID relatedId, int count) {
+        int product = ordinal(productId);
+        int related = ordinal(relatedId);
+        IntCountMap row = rows.get(product);
+        offer(product, related, row.add(related, count - row.get(related)));
+    }
+
+    int count(UUID productId, UUID relatedId) {
+        Integer product = ordinals.get(productId);
+        Integer related = ordinals.get(relatedId);
+        return product == null || related == null ? 0 : rows.get(product).get(related);
+    }
+
+    /**
+     * The products most often bought together with this one, best first
+     */
+    List<UUID> related(UUID productId) {
+        Integer product = ordinals.get(productId);
+        if (product == null) {
+            return List.of();
+        }
+        int[] top = tops.get(product);
+        int size = topSizes[product];
+        List<UUID> related = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            related.add(productIds.get(top[i]));
+        }
+        return related;
+    }
+
+    /**
+     * Visit each directed pair of distinct products in the given orders once, with the number
+     * of those orders containing it, in (product, related) order so concurrent writers of the
+     * counts lock rows in the same order
+     */
+    static void countPairs(Collection<? extends Collection<UUID>> orders, RowVisitor visitor) {
+        Map<UUID, Map<UUID, Integer>> counts = new TreeMap<>();
+        for (Collection<UUID> order : orders) {
+            Set<UUID> distinct = new LinkedHashSet<>(order);
+            for (UUID product : distinct) {
+                for (UUID related : distinct) {
+                    if (!product.equals(related)) {
+                        counts.computeIfAbsent(product, id -> new TreeMap<>()).merge(related, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        counts.forEach((product, row) -> row.forEach((related, count) -> visitor.accept(product, related, count)));
+    }
+
+    int size() {
+        return productIds.size();
+    }
+
+    List<UUID> productIds() {
+        return Collections.unmodifiableList(productIds);
+    }
+
+    private int ordinal(UUID productId) {
+        Integer existing = ordinals.get(productId);
+        if (existing != null) {
+            return existing;
+        }
+        int ordinal = productIds.size();
+        ordinals.put(productId, ordinal);
+        productIds.add(productId);
+        rows.add(new IntCountMap());
+        tops.add(new int[topK]);
+        if (ordinal == topSizes.length) {
+            topSizes = Arrays.copyOf(topSizes, ordinal * 2);
+        }
+        return ordinal;
+    }
+
+    // Keep the top-k of product sorted by count after related reached count
+    private void offer(int product, int related, int count) {
+        int[] top = tops.get(product);
+        IntCountMap row = rows.get(product);
+
+        int position = indexOf(top, topSizes[product], related);
+        if (position < 0) {
+            if (topSizes[product] < topK) {
+                position = topSizes[product]++;
+            } else if (topK > 0 && count > row.get(top[topK - 1])) {
+                position = topK - 1;
+            } else {
+                return;
+            }
+            top[position] = related;
+        }
+        while (position > 0 && row.get(top[position - 1]) < count) {
+            top[position] = top[position - 1];
+            top[--position] = related;
+        }
+    }
+
+    private static int indexOf(int[] top, int size, int related) {
+        for (int i = 0; i < size; i++) {
+            if (top[i] == related) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
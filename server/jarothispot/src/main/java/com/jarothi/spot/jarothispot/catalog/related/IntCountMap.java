@@ -0,0 +1,98 @@
+package com.jarothi.spot.jarothispot.catalog.related;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from non-negative int keys to int counts, with linear probing.
+ * Keys and counts live in two parallel int arrays, so there is no boxing and no entry
+ * object per pair. Entries are never removed. Not thread safe.
+ */
+final class IntCountMap {
+
+    private static final int EMPTY = -1;
+
+    @FunctionalInterface
+    interface Visitor {
+        void accept(int key, int count);
+    }
+
+    private int[] keys;
+    private int[] counts;
+    private int size;
+
+    IntCountMap() {
+        this(4);
+    }
+
+    IntCountMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new int[capacity];
+        counts = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int key) {
+        int slot = slot(keys, key);
+        return keys[slot] == key ? counts[slot] : 0;
+    }
+
+    /**
+     * Add delta to the count of key and return the new count
+     */
+    int add(int key, int delta) {
+        int slot = slot(keys, key);
+        if (keys[slot] == key) {
+            counts[slot] = Math.addExact(counts[slot], delta);
+            return counts[slot];
+        }
+        keys[slot] = key;
+        counts[slot] = delta;
+        if (++size * 4 > keys.length * 3) {
+            grow();
+        }
+        return delta;
+    }
+
+    void forEach(Visitor visitor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                visitor.accept(keys[slot], counts[slot]);
+            }
+        }
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new int[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                int target = slot(keys, oldKeys[slot]);
+                keys[target] = oldKeys[slot];
+                counts[target] = oldCounts[slot];
+            }
+        }
+    }
+
+    // Slot holding key, or the empty slot where it would go
+    private static int slot(int[] keys, int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Ordinals are dense and sequential; spread them so neighbours do not cluster
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,220 @@
+package com.jarothi.spot.jarothispot.catalog.related;
+
+import com.jarothi.spot.jarothispot.catalog.dto.CatalogDTOService;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTO;
+import com.jarothi.spot.jarothispot.datasource.ReadRouting;
+import com.jarothi.spot.jarothispot.order.event.OrderPlacedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "Frequently bought together" recommendations from an in-memory {@link CoOccurrenceMatrix}.
+ *
+ * Every committed order adds its product pairs to the matrix and republishes the top-k of
+ * the products involved, so a lookup is a map read of at most k IDs, resolved through the
+ * per-product cache. Every catalog.related.persist-interval and on shutdown the orders added
+ * since the last run are claimed in product_co_occurrence_orders and the pairs of the ones
+ * not claimed before are added to product_co_occurrence, in one transaction. Counts are only
+ * ever incremented and each order is claimed once, so several instances can persist and
+ * replay the same orders without losing or doubling counts.
+ *
+ * On startup the persisted counts are restored and the unclaimed orders are replayed, starting
+ * catalog.related.replay-overlap before the newest claimed order: order timestamps are taken
+ * before commit, so commit order and creation order differ by up to a checkout's duration.
+ */
+@Service
+public class RelatedProductsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatedProductsService.class);
+
+    private static final String SELECT_COUNTS = "SELECT product_id, related_id, times FROM product_co_occurrence";
+
+    private static final String SELECT_NEWEST_CLAIMED_AT = "SELECT max(created_at) FROM product_co_occurrence_orders";
+
+    // Unclaimed orders created after the given time, one row per item, grouped by order
+    private static final String SELECT_UNCLAIMED_ORDERS = """
+        SELECT oi.order_id, oi.product_id
+        FROM order_items oi
+        JOIN orders o ON o.id = oi.order_id
+        WHERE o.created_at > ?
+          AND NOT EXISTS (SELECT 1 FROM product_co_occurrence_orders c WHERE c.order_id = o.id)
+        ORDER BY oi.order_id
+        """;
+
+    // Returns the orders no instance had claimed yet
+    private static final String CLAIM_ORDERS = """
+        INSERT INTO product_co_occurrence_orders (order_id, created_at)
+        SELECT o.id, o.created_at FROM orders o WHERE o.id = ANY(?)
+        ON CONFLICT (order_id) DO NOTHING
+        RETURNING order_id
+        """;
+
+    private static final String ADD_COUNT = """
+        INSERT INTO product_co_occurrence (product_id, related_id, times)
+        VALUES (?, ?, ?)
+        ON CONFLICT (product_id, related_id) DO UPDATE SET times = product_co_occurrence.times + EXCLUDED.times
+        """;
+
+    // Claims older than the replay window are never looked at again
+    private static final String PRUNE_CLAIMS = """
+        DELETE FROM product_co_occurrence_orders
+        WHERE created_at < (SELECT max(created_at) FROM product_co_occurrence_orders) - make_interval(secs => ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    private final CatalogDTOService catalogService;
+    private final RelatedProperties properties;
+
+    // Guarded by matrix; related IDs are republished for lock-free reads
+    private final CoOccurrenceMatrix matrix;
+    // Products of the orders in the matrix but not yet persisted, by order ID
+    private final Map<UUID, List<UUID>> unpersisted = new LinkedHashMap<>();
+    private final Map<UUID, List<UUID>> relatedIds = new ConcurrentHashMap<>();
+
+    public RelatedProductsService(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  CatalogDTOService catalogService,
+                                  RelatedProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Counts and unclaimed orders read from one snapshot, so no order is in both or neither
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setReadOnly(true);
+        this.catalogService = catalogService;
+        this.properties = properties;
+        this.matrix = new CoOccurrenceMatrix(properties.getTopK());
+    }
+
+    /**
+     * Up to limit active products most often bought together with the given one,
+     * resolved through the per-product cache
+     */
+    public List<ProductDTO> findRelated(UUID productId, int limit) {
+        List<UUID> ids = relatedIds.getOrDefault(productId, List.of());
+        if (ids.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return catalogService.getProductsByIds(ids).values().stream()
+            .filter(ProductDTO::active)
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Restore the persisted counts, then replay the orders not counted in them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        // On the primary: a lagging replica would leave out the newest orders
+        int replayed = ReadRouting.onPrimary(() -> snapshotTemplate.execute(status -> {
+            synchronized (matrix) {
+                jdbcTemplate.query(SELECT_COUNTS, resultSet -> {
+                    matrix.restore(resultSet.getObject("product_id", UUID.class),
+                        resultSet.getObject("related_id", UUID.class), resultSet.getInt("times"));
+                });
+                Timestamp newest = jdbcTemplate.queryForObject(SELECT_NEWEST_CLAIMED_AT, Timestamp.class);
+                Instant since = newest == null ? Instant.EPOCH : newest.toInstant().minus(properties.getReplayOverlap());
+
+                Map<UUID, List<UUID>> orders = new LinkedHashMap<>();
+                jdbcTemplate.query(SELECT_UNCLAIMED_ORDERS, resultSet -> {
+                    orders.computeIfAbsent(resultSet.getObject("order_id", UUID.class), id -> new ArrayList<>())
+                        .add(resultSet.getObject("product_id", UUID.class));
+                }, Timestamp.from(since));
+                orders.forEach(this::add);
+                republishAll();
+                return orders.size();
+            }
+        }));
+        logger.info("Co-occurrence matrix restored with {} products, {} orders replayed", matrix.size(), replayed);
+    }
+
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        synchronized (matrix) {
+            Set<UUID> changed = add(event.orderId(), List.copyOf(event.unitsByProduct().keySet()));
+            for (UUID productId : changed) {
+                relatedIds.put(productId, List.copyOf(matrix.related(productId)));
+            }
+        }
+    }
+
+    /**
+     * Add the pairs of the orders not persisted yet; the orders are kept for the next run if the
+     * write fails
+     */
+    @Scheduled(fixedDelayString = "${catalog.related.persist-interval:5m}",
+               initialDelayString = "${catalog.related.persist-interval:5m}")
+    @PreDestroy
+    public void persist() {
+        Map<UUID, List<UUID>> orders;
+        synchronized (matrix) {
+            if (unpersisted.isEmpty()) {
+                return;
+            }
+            orders = new LinkedHashMap<>(unpersisted);
+            unpersisted.clear();
+        }
+
+        try {
+            int counted = transactionTemplate.execute(status -> {
+                List<UUID> claimed = jdbcTemplate.query(CLAIM_ORDERS,
+                    statement -> statement.setArray(1,
+                        statement.getConnection().createArrayOf("uuid", orders.keySet().toArray())),
+                    (resultSet, rowNum) -> resultSet.getObject("order_id", UUID.class));
+                List<Object[]> rows = new ArrayList<>();
+                CoOccurrenceMatrix.countPairs(claimed.stream().map(orders::get).toList(),
+                    (productId, relatedId, count) -> rows.add(new Object[]{productId, relatedId, count}));
+                jdbcTemplate.batchUpdate(ADD_COUNT, rows);
+                jdbcTemplate.update(PRUNE_CLAIMS, properties.getReplayOverlap().toSeconds());
+                return claimed.size();
+            });
+            logger.debug("Persisted the co-occurrences of {} orders ({} already counted)", counted, orders.size() - counted);
+        } catch (RuntimeException e) {
+            synchronized (matrix) {
+                orders.forEach(unpersisted::putIfAbsent);
+            }
+            logger.warn("Could not persist co-occurrence counts, will retry", e);
+        }
+    }
+
+    // Add an order to the matrix once, returning the products whose top-k may have changed
+    private Set<UUID> add(UUID orderId, List<UUID> productIds) {
+        if (unpersisted.putIfAbsent(orderId, productIds) != null) {
+            return Set.of();
+        }
+        return matrix.addOrder(productIds);
+    }
+
+    private void republishAll() {
+        relatedIds.clear();
+        for (UUID productId : matrix.productIds()) {
+            List<UUID> related = matrix.related(productId);
+            if (!related.isEmpty()) {
+                relatedIds.put(productId, List.copyOf(related));
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.jarothi.spot.jarothispot.catalog.related;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.related")
+public class RelatedProperties {
+    // Related products kept per product
+    private int topK = 10;
+    // How often changed co-occurrence counts are written to the database
+    private Duration persistInterval = Duration.ofMinutes(5);
+    // On startup, orders created this long before the newest counted one are checked again,
+    // so a checkout that committed after a newer one is not missed
+    private Duration replayOverlap = Duration.ofHours(1);
+
+    // Getters and setters
+    public int getTopK() { return topK; }
+    public void setTopK(int topK) { this.topK = topK; }
+
+    public Duration getPersistInterval() { return persistInterval; }
+    public void setPersistInterval(Duration persistInterval) { this.persistInterval = persistInterval; }
+
+    public Duration getReplayOverlap() { return replayOverlap; }
+    public void setReplayOverlap(Duration replayOverlap) { this.replayOverlap = replayOverlap; }
+}
@@ -0,0 +1,252 @@
+package com.jarothi.spot.jarothispot.catalog.search;
+
+import com.jarothi.spot.jarothispot.catalog.Product;
+import com.jarothi.spot.jarothispot.catalog.ProductRepository;
+import com.jarothi.spot.jarothispot.catalog.ProductSpecifications;
+import com.jarothi.spot.jarothispot.catalog.event.CatalogImportedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductChangedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.RebuildChangeLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the title and description of active products.
+ *
+ * Every query term must match (AND semantics); the last term is matched as a prefix
+ * so that results are useful while the user is still typing. Matches are ranked by
+ * a TF-IDF style score where title hits weigh more than description hits.
+ *
+ * The index is built when the application is ready and kept current through
+ * {@link ProductChangedEvent}s; products changed while it is rebuilt are reindexed after the
+ * swap (see {@link RebuildChangeLog}). Until it is built, queries fall back to the
+ * LIKE based {@link ProductSpecifications#hasQuery(String)}, ordered by title.
+ * This is the default engine (catalog.search.engine=memory).
+ */
+@Component
+@ConditionalOnProperty(prefix = "catalog.search", name = "engine", havingValue = "memory", matchIfMissing = true)
+public class InvertedIndexSearchEngine implements ProductSearchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvertedIndexSearchEngine.class);
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    // Ranked matches checked against the other filters per query
+    private static final int FILTER_CHUNK_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+
+    // term -> (product ID -> weighted term frequency); sorted for prefix lookups
+    private final NavigableMap<String, Map<UUID, Integer>> postings = new TreeMap<>();
+    // product ID -> indexed terms, needed to remove a product from the index
+    private final Map<UUID, Set<String>> documentTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RebuildChangeLog rebuildChanges = new RebuildChangeLog();
+    private volatile boolean ready = false;
+
+    public InvertedIndexSearchEngine(ProductRepository productRepository, EntityManager entityManager) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Specification<Product> hasQuery(String query) {
+        if (!ready) {
+            return ProductSpecifications.hasQuery(query);
+        }
+        return ProductSpecifications.hasIdInArray(search(query, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Walks the ranked matches in chunks, keeping those the database confirms against the
+     * specification, until the window is filled; the rank order never leaves the JVM
+     */
+    @Override
+    public List<UUID> findRanked(String query, Specification<Product> specification, long offset, int limit) {
+        if (!ready) {
+            return findIds(specification.and(ProductSpecifications.hasQuery(query)), true, offset, limit);
+        }
+
+        List<UUID> ranked = search(query, Integer.MAX_VALUE);
+        List<UUID> window = new ArrayList<>(Math.min(limit, ranked.size()));
+        long skipped = 0;
+        for (int from = 0; from < ranked.size() && window.size() < limit; from += FILTER_CHUNK_SIZE) {
+            List<UUID> chunk = ranked.subList(from, Math.min(from + FILTER_CHUNK_SIZE, ranked.size()));
+            Set<UUID> kept = new HashSet<>(findIds(
+                specification.and(ProductSpecifications.hasIdInArray(chunk)), false, 0, -1));
+            for (int i = 0; i < chunk.size() && window.size() < limit; i++) {
+                if (kept.contains(chunk.get(i)) && skipped++ >= offset) {
+                    window.add(chunk.get(i));
+                }
+            }
+        }
+        return window;
+    }
+
+    @Override
+    public boolean matchesInDatabase() {
+        return false;
+    }
+
+    @Override
+    public List<UUID> search(String query, int limit) {
+        List<String> queryTerms = SearchTokenizer.tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<UUID, Double> scores;
+        lock.readLock().lock();
+        try {
+            int documentCount = documentTerms.size();
+            scores = scoreTerm(queryTerms.get(0), queryTerms.size() == 1, documentCount);
+            for (int i = 1; i < queryTerms.size() && !scores.isEmpty(); i++) {
+                boolean isLast = i == queryTerms.size() - 1;
+                Map<UUID, Double> termScores = scoreTerm(queryTerms.get(i), isLast, documentCount);
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scores.entrySet().stream()
+            .sorted(Map.Entry.<UUID, Double>comparingByValue().reversed())
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+
+    private List<UUID> findIds(Specification<Product> specification, boolean byTitle, long offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> criteriaQuery = criteriaBuilder.createQuery(UUID.class);
+        Root<Product> root = criteriaQuery.from(Product.class);
+        criteriaQuery.select(root.get("id"))
+            .where(specification.toPredicate(root, criteriaQuery, criteriaBuilder));
+        if (byTitle) {
+            criteriaQuery.orderBy(criteriaBuilder.asc(root.get("title")), criteriaBuilder.asc(root.get("id")));
+        }
+
+        TypedQuery<UUID> typedQuery = entityManager.createQuery(criteriaQuery)
+            .setFirstResult(Math.toIntExact(offset));
+        if (limit >= 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * Score every product matching a single query term. Must be called holding the read lock.
+     */
+    private Map<UUID, Double> scoreTerm(String term, boolean asPrefix, int documentCount) {
+        Map<UUID, Double> scores = new HashMap<>();
+        Map<String, Map<UUID, Integer>> matchingTerms = asPrefix
+            ? postings.subMap(term, true, term + Character.MAX_VALUE, false)
+            : postings.containsKey(term) ? Map.of(term, postings.get(term)) : Map.of();
+
+        for (Map.Entry<String, Map<UUID, Integer>> entry : matchingTerms.entrySet()) {
+            Map<UUID, Integer> documents = entry.getValue();
+            double idf = Math.log(1.0 + (double) documentCount / documents.size());
+            // Exact matches rank above prefix expansions of the same term
+            double boost = entry.getKey().equals(term) ? 1.0 : 0.5;
+            documents.forEach((id, frequency) -> scores.merge(id, frequency * idf * boost, Double::sum));
+        }
+        return scores;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, CatalogImportedEvent.class})
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void rebuild() {
+        List<SearchDocument> documents;
+        List<UUID> changed;
+        rebuildChanges.begin();
+        try {
+            documents = productRepository.findActiveSearchDocuments();
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                documentTerms.clear();
+                documents.forEach(this::addDocument);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            changed = rebuildChanges.end();
+        }
+        changed.forEach(productId -> reindex(productId, productRepository.findActiveSearchDocumentById(productId)));
+        ready = true;
+        logger.info("Search index built with {} products and {} terms, {} reindexed after changes",
+            documents.size(), postings.size(), changed.size());
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        rebuildChanges.record(event.productId());
+        Optional<SearchDocument> document = event.changeType() == ProductChangedEvent.ChangeType.DELETED
+            ? Optional.empty()
+            : productRepository.findActiveSearchDocumentById(event.productId());
+        reindex(event.productId(), document);
+    }
+
+    private void reindex(UUID productId, Optional<SearchDocument> document) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+            document.ifPresent(this::addDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a product to the index. Must be called holding the write lock.
+     */
+    private void addDocument(SearchDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        SearchTokenizer.tokenize(document.title())
+            .forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        SearchTokenizer.tokenize(document.description())
+            .forEach(term -> frequencies.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+
+        frequencies.forEach((term, frequency) ->
+            postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.id(), frequency));
+        documentTerms.put(document.id(), frequencies.keySet());
+    }
+
+    /**
+     * Remove a product from the index. Must be called holding the write lock.
+     */
+    private void removeDocument(UUID productId) {
+        Set<String> terms = documentTerms.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<UUID, Integer> documents = postings.get(term);
+            documents.remove(productId);
+            if (documents.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
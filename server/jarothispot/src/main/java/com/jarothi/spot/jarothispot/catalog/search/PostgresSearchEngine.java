@@ -0,0 +1,96 @@
+package com.jarothi.spot.jarothispot.catalog.search;
+
+import com.jarothi.spot.jarothispot.catalog.Product;
+import com.jarothi.spot.jarothispot.catalog.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Search engine that keeps text search in PostgreSQL.
+ * Uses the generated search_vector column (ranked with ts_rank) and the pg_trgm
+ * indexes for substring and fuzzy title matches instead of sequential LIKE scans.
+ * The match predicate and the rank are SQL fragments inside the Criteria query, so
+ * matching IDs are never materialized in the JVM.
+ * Enabled with catalog.search.engine=postgres.
+ */
+@Component
+@ConditionalOnProperty(prefix = "catalog.search", name = "engine", havingValue = "postgres")
+public class PostgresSearchEngine implements ProductSearchEngine {
+
+    // Arguments: product ID, then the query text once per placeholder of TEXT_MATCH;
+    // the semi-join lets the planner combine the GIN indexes
+    private static final String MATCH = "? in (select p.id from products p where "
+        + ProductRepository.TEXT_MATCH.replace(":query", "?") + ")";
+    private static final int MATCH_QUERY_PLACEHOLDERS = ProductRepository.TEXT_MATCH.split(":query", -1).length - 1;
+    // Arguments: query text, product ID
+    private static final String TEXT_RANK = "(select ts_rank(p.search_vector, "
+        + "websearch_to_tsquery('simple', immutable_unaccent(?))) from products p where p.id = ?)";
+    // Arguments: query text, product title
+    private static final String TITLE_SIMILARITY = "word_similarity(lower(immutable_unaccent(?)), "
+        + "lower(immutable_unaccent(?)))";
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+
+    public PostgresSearchEngine(ProductRepository productRepository, EntityManager entityManager) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<UUID> search(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        return productRepository.searchActiveIds(query.trim(), limit);
+    }
+
+    @Override
+    public Specification<Product> hasQuery(String query) {
+        return (root, criteriaQuery, criteriaBuilder) -> {
+            HibernateCriteriaBuilder builder = (HibernateCriteriaBuilder) criteriaBuilder;
+            Expression<?>[] arguments = new Expression<?>[MATCH_QUERY_PLACEHOLDERS + 1];
+            arguments[0] = root.get("id");
+            Arrays.fill(arguments, 1, arguments.length, builder.value(query.trim()));
+            return builder.isTrue(builder.sql(MATCH, Boolean.class, arguments));
+        };
+    }
+
+    @Override
+    public List<UUID> findRanked(String query, Specification<Product> specification, long offset, int limit) {
+        HibernateCriteriaBuilder builder = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> criteriaQuery = builder.createQuery(UUID.class);
+        Root<Product> root = criteriaQuery.from(Product.class);
+        String text = query.trim();
+        criteriaQuery.select(root.get("id"))
+            .where(specification.and(hasQuery(text)).toPredicate(root, criteriaQuery, builder))
+            .orderBy(
+                builder.desc(builder.sql(TEXT_RANK, Float.class, builder.value(text), root.get("id"))),
+                builder.desc(builder.sql(TITLE_SIMILARITY, Float.class, builder.value(text), root.get("title"))),
+                builder.asc(root.get("id"))
+            );
+
+        TypedQuery<UUID> typedQuery = entityManager.createQuery(criteriaQuery)
+            .setFirstResult(Math.toIntExact(offset));
+        if (limit >= 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public boolean matchesInDatabase() {
+        return true;
+    }
+}
@@ -0,0 +1,50 @@
+package com.jarothi.spot.jarothispot.catalog.search;
+
+import com.jarothi.spot.jarothispot.catalog.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pluggable text search for products.
+ * Implementations resolve a free text query to a ranked list of product IDs, restrict a
+ * product query to every match, and read a window of matches in relevance order.
+ */
+public interface ProductSearchEngine {
+
+    /**
+     * Sort property asking for the best text matches first
+     */
+    String RELEVANCE = "relevance";
+
+    /**
+     * Whether the sort asks for relevance order
+     */
+    static boolean isRelevance(Sort sort) {
+        return sort.getOrderFor(RELEVANCE) != null;
+    }
+
+    /**
+     * Find the IDs of active products matching the query, best match first
+     */
+    List<UUID> search(String query, int limit);
+
+    /**
+     * Build the specification that restricts a product query to every match of the given text
+     */
+    Specification<Product> hasQuery(String query);
+
+    /**
+     * Find the IDs of the products matching both the query and the specification, best match
+     * first; offset and limit apply to that ranked list
+     */
+    List<UUID> findRanked(String query, Specification<Product> specification, long offset, int limit);
+
+    /**
+     * Whether matching happens inside PostgreSQL ({@code ProductRepository.TEXT_MATCH}), so native
+     * queries can apply the text predicate themselves instead of receiving the matched IDs
+     */
+    boolean matchesInDatabase();
+}
@@ -0,0 +1,12 @@
+package com.jarothi.spot.jarothispot.catalog.search;
+
+import java.util.UUID;
+
+/**
+ * Text fields of a product as seen by the search engines
+ */
+public record SearchDocument(
+    UUID id,
+    String title,
+    String description
+) {}
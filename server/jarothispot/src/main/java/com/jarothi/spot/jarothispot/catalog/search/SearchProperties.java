@@ -0,0 +1,20 @@
+package com.jarothi.spot.jarothispot.catalog.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.search")
+public class SearchProperties {
+    // Completions precomputed per typeahead trie node
+    private int suggestTopK = 10;
+    // How often products ordered since the last run are re-ranked by units sold
+    private Duration suggestRefreshInterval = Duration.ofSeconds(10);
+
+    // Getters and setters
+    public int getSuggestTopK() { return suggestTopK; }
+    public void setSuggestTopK(int suggestTopK) { this.suggestTopK = suggestTopK; }
+
+    public Duration getSuggestRefreshInterval() { return suggestRefreshInterval; }
+    public void setSuggestRefreshInterval(Duration suggestRefreshInterval) { this.suggestRefreshInterval = suggestRefreshInterval; }
+}
@@ -0,0 +1,255 @@
+package com.jarothi.spot.jarothispot.catalog.search;
+
+import com.jarothi.spot.jarothispot.catalog.ProductRepository;
+import com.jarothi.spot.jarothispot.catalog.cache.CategoryRegistry;
+import com.jarothi.spot.jarothispot.catalog.dto.CategoryDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.SuggestionDTO;
+import com.jarothi.spot.jarothispot.catalog.event.CatalogImportedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.CategoryChangedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductChangedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.RebuildChangeLog;
+import com.jarothi.spot.jarothispot.datasource.ReadRouting;
+import com.jarothi.spot.jarothispot.order.event.OrderPlacedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Typeahead over active product titles (ranked by units sold) and category names
+ * (ranked by active product count), served from an in-memory {@link SuggestionTrie}.
+ *
+ * The trie is built when the application is ready and after catalog imports. After a product
+ * write commits only that product and its category links are reloaded: its entry and the
+ * counts of the categories it joined or left are replaced in the trie, which copies just the
+ * nodes on their paths. Orders only mark their products; every
+ * catalog.search.suggest-refresh-interval the units sold of the marked products are read in
+ * one query and their ranks updated. Products changed or re-ranked while the trie is rebuilt
+ * are reloaded after the swap (see {@link RebuildChangeLog}). Lookups never touch the database.
+ */
+@Component
+public class SuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionService.class);
+
+    private final ProductRepository productRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final SearchProperties properties;
+
+    // Guarded by this; every change replaces the affected entries in the immutable trie
+    private final Map<UUID, SuggestionTrie.Entry> productEntries = new HashMap<>();
+    private final Map<UUID, SuggestionTrie.Entry> categoryEntries = new HashMap<>();
+    private final Map<UUID, Set<UUID>> categoriesByProduct = new HashMap<>();
+    private final Map<UUID, Long> categoryCounts = new HashMap<>();
+    private volatile SuggestionTrie trie = SuggestionTrie.empty();
+
+    // Products ordered since the last popularity refresh
+    private final Set<UUID> ordered = ConcurrentHashMap.newKeySet();
+    private final RebuildChangeLog rebuildChanges = new RebuildChangeLog();
+
+    public SuggestionService(ProductRepository productRepository,
+                             CategoryRegistry categoryRegistry,
+                             SearchProperties properties) {
+        this.productRepository = productRepository;
+        this.categoryRegistry = categoryRegistry;
+        this.properties = properties;
+    }
+
+    /**
+     * Up to limit suggestions whose text, or one of its words, starts with the prefix
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        if (prefix == null) {
+            return List.of();
+        }
+        return trie.suggest(prefix, Math.min(limit, properties.getSuggestTopK()));
+    }
+
+    @EventListener({ApplicationReadyEvent.class, CatalogImportedEvent.class})
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<UUID> changed;
+        rebuildChanges.begin();
+        try {
+            Map<UUID, Long> unitsSold = toCounts(productRepository.sumUnitsSoldByProduct());
+            List<Object[]> links = productRepository.findActiveCategoryLinks();
+            List<SearchDocument> documents = productRepository.findActiveSearchDocuments();
+
+            synchronized (this) {
+                productEntries.clear();
+                for (SearchDocument document : documents) {
+                    productEntries.put(document.id(), productEntry(document, unitsSold.getOrDefault(document.id(), 0L)));
+                }
+                categoriesByProduct.clear();
+                categoryCounts.clear();
+                for (Object[] link : links) {
+                    UUID categoryId = (UUID) link[1];
+                    categoriesByProduct.computeIfAbsent((UUID) link[0], id -> new HashSet<>()).add(categoryId);
+                    categoryCounts.merge(categoryId, 1L, Long::sum);
+                }
+                categoryEntries.clear();
+                for (CategoryDTO category : categoryRegistry.findAll()) {
+                    categoryEntries.put(category.id(), categoryEntry(category));
+                }
+
+                List<SuggestionTrie.Entry> entries = new ArrayList<>(productEntries.values());
+                entries.addAll(categoryEntries.values());
+                trie = SuggestionTrie.build(entries, properties.getSuggestTopK());
+            }
+        } finally {
+            changed = rebuildChanges.end();
+        }
+        changed.forEach(productId -> apply(productId, productRepository.findActiveSearchDocumentById(productId)));
+        logger.info("Suggestion trie built with {} entries, {} products reloaded after changes",
+            trie.size(), changed.size());
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        rebuildChanges.record(event.productId());
+        Optional<SearchDocument> document = event.changeType() == ProductChangedEvent.ChangeType.DELETED
+            ? Optional.empty()
+            : productRepository.findActiveSearchDocumentById(event.productId());
+        apply(event.productId(), document);
+    }
+
+    /**
+     * Replace a product's entry and its category counts with its current document, if active
+     */
+    private void apply(UUID productId, Optional<SearchDocument> document) {
+        Optional<SuggestionTrie.Entry> entry = document
+            .map(found -> productEntry(found, productRepository.sumUnitsSold(found.id())));
+        Set<UUID> categoryIds = document.isPresent()
+            ? new HashSet<>(productRepository.findCategoryIdsByProductId(productId))
+            : Set.of();
+
+        synchronized (this) {
+            SuggestionTrie updated = trie.replace(productEntries.remove(productId), entry.orElse(null));
+            entry.ifPresent(found -> productEntries.put(productId, found));
+
+            // Only an active product counts towards its categories
+            Set<UUID> previous = categoriesByProduct.remove(productId);
+            if (previous == null) {
+                previous = Set.of();
+            }
+            if (!categoryIds.isEmpty()) {
+                categoriesByProduct.put(productId, categoryIds);
+            }
+            for (UUID categoryId : previous) {
+                if (!categoryIds.contains(categoryId)) {
+                    updated = adjustCount(updated, categoryId, -1);
+                }
+            }
+            for (UUID categoryId : categoryIds) {
+                if (!previous.contains(categoryId)) {
+                    updated = adjustCount(updated, categoryId, 1);
+                }
+            }
+            trie = updated;
+        }
+    }
+
+    // Runs after the category registry has been reloaded
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        UUID categoryId = event.categoryId();
+        Optional<CategoryDTO> category = categoryRegistry.findById(categoryId);
+
+        synchronized (this) {
+            if (category.isEmpty()) {
+                categoryCounts.remove(categoryId);
+                categoriesByProduct.values().forEach(categoryIds -> categoryIds.remove(categoryId));
+            }
+            SuggestionTrie.Entry entry = category.map(this::categoryEntry).orElse(null);
+            trie = trie.replace(categoryEntries.remove(categoryId), entry);
+            if (entry != null) {
+                categoryEntries.put(categoryId, entry);
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        ordered.addAll(event.unitsByProduct().keySet());
+    }
+
+    /**
+     * Re-rank the products ordered since the last run by their units sold
+     */
+    @Scheduled(fixedDelayString = "${catalog.search.suggest-refresh-interval:10s}")
+    public void refreshPopularity() {
+        if (ordered.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = new ArrayList<>(ordered);
+        ordered.removeAll(ids);
+        ids.forEach(rebuildChanges::record);
+        // Read the orders just committed, not a replica that may lag behind them
+        Map<UUID, Long> unitsSold = toCounts(ReadRouting.onPrimary(() -> productRepository.sumUnitsSoldByProductIn(ids)));
+
+        synchronized (this) {
+            SuggestionTrie updated = trie;
+            for (UUID id : ids) {
+                SuggestionTrie.Entry entry = productEntries.get(id);
+                long units = unitsSold.getOrDefault(id, 0L);
+                if (entry != null && entry.popularity() != units) {
+                    SuggestionTrie.Entry ranked = new SuggestionTrie.Entry(entry.suggestion(), units);
+                    updated = updated.replace(entry, ranked);
+                    productEntries.put(id, ranked);
+                }
+            }
+            trie = updated;
+        }
+    }
+
+    private SuggestionTrie adjustCount(SuggestionTrie current, UUID categoryId, long delta) {
+        long count = categoryCounts.merge(categoryId, delta, Long::sum);
+        SuggestionTrie.Entry entry = categoryEntries.get(categoryId);
+        if (entry == null) {
+            return current;
+        }
+        SuggestionTrie.Entry counted = new SuggestionTrie.Entry(entry.suggestion(), count);
+        categoryEntries.put(categoryId, counted);
+        return current.replace(entry, counted);
+    }
+
+    private SuggestionTrie.Entry categoryEntry(CategoryDTO category) {
+        return new SuggestionTrie.Entry(
+            new SuggestionDTO(category.name(), SuggestionDTO.Type.CATEGORY, category.id()),
+            categoryCounts.getOrDefault(category.id(), 0L));
+    }
+
+    private static SuggestionTrie.Entry productEntry(SearchDocument document, long unitsSold) {
+        return new SuggestionTrie.Entry(
+            new SuggestionDTO(document.title(), SuggestionDTO.Type.PRODUCT, document.id()), unitsSold);
+    }
+
+    private static Map<UUID, Long> toCounts(List<Object[]> rows) {
+        Map<UUID, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
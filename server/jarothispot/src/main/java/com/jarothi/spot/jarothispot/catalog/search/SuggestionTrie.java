@@ -0,0 +1,343 @@
+package com.jarothi.spot.jarothispot.catalog.search;
+
+import com.jarothi.spot.jarothispot.catalog.dto.SuggestionDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable compressed (radix) prefix trie over normalized suggestion keys. Every node
+ * stores the top-k suggestions of its whole subtree, ranked by popularity, so a lookup is
+ * a walk down at most prefix-length characters followed by returning a precomputed list.
+ *
+ * Each suggestion is indexed under its full normalized text and under every word start,
+ * so "crash" completes "Snow Crash".
+ *
+ * {@link #replace} derives a new trie sharing every node except those on the paths of the
+ * changed keys, so a single write costs a few path copies instead of a full build.
+ */
+final class SuggestionTrie {
+
+    /**
+     * A suggestion with its ranking weight
+     */
+    record Entry(SuggestionDTO suggestion, long popularity) {}
+
+    private static final Comparator<Entry> BY_RANK = Comparator
+        .comparingLong(Entry::popularity).reversed()
+        .thenComparingInt(entry -> entry.suggestion().text().length())
+        .thenComparing(entry -> entry.suggestion().text());
+
+    private static final Node EMPTY_ROOT = new Node("", List.of(), new Node[0], List.of());
+    private static final SuggestionTrie EMPTY = new SuggestionTrie(EMPTY_ROOT, 0, 0);
+
+    private final Node root;
+    private final int topK;
+    private final int size;
+
+    private SuggestionTrie(Node root, int topK, int size) {
+        this.root = root;
+        this.topK = topK;
+        this.size = size;
+    }
+
+    static SuggestionTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build a trie keeping the topK best suggestions per node
+     */
+    static SuggestionTrie build(Collection<Entry> entries, int topK) {
+        List<Key> keys = new ArrayList<>();
+        for (Entry entry : entries) {
+            for (String key : keysOf(entry.suggestion().text())) {
+                keys.add(new Key(key, entry));
+            }
+        }
+        if (keys.isEmpty()) {
+            return new SuggestionTrie(EMPTY_ROOT, topK, 0);
+        }
+        keys.sort(Comparator.comparing(Key::key));
+        return new SuggestionTrie(build(keys, 0, keys.size(), 0, topK), topK, entries.size());
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * A trie where the removed entry (if any) is replaced by the added one (if any).
+     * The removed entry must be the one previously added, popularity included.
+     */
+    SuggestionTrie replace(Entry removed, Entry added) {
+        Node updated = root;
+        int updatedSize = size;
+        if (removed != null) {
+            for (String key : keysOf(removed.suggestion().text())) {
+                updated = remove(updated, key, 0, removed, topK);
+                if (updated == null) {
+                    updated = EMPTY_ROOT;
+                }
+            }
+            updatedSize--;
+        }
+        if (added != null) {
+            for (String key : keysOf(added.suggestion().text())) {
+                updated = insert(updated, key, 0, added, topK);
+            }
+            updatedSize++;
+        }
+        return new SuggestionTrie(updated, topK, updatedSize);
+    }
+
+    /**
+     * The best suggestions whose text (or one of its words) starts with the prefix
+     */
+    List<SuggestionDTO> suggest(String prefix, int limit) {
+        String key = String.join(" ", SearchTokenizer.tokenize(prefix));
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Node node = root;
+        int depth = 0;
+        while (true) {
+            // Match the node label against the rest of the prefix
+            String label = node.label;
+            int common = 0;
+            while (common < label.length() && depth + common < key.length()
+                && label.charAt(common) == key.charAt(depth + common)) {
+                common++;
+            }
+            depth += common;
+            if (depth == key.length()) {
+                break;
+            }
+            if (common < label.length()) {
+                return List.of();
+            }
+            node = node.child(key.charAt(depth));
+            if (node == null) {
+                return List.of();
+            }
+        }
+
+        int count = Math.min(limit, Math.min(topK, node.top.size()));
+        List<SuggestionDTO> suggestions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            suggestions.add(node.top.get(i).suggestion());
+        }
+        return suggestions;
+    }
+
+    /**
+     * Normalized text plus every suffix starting at a word boundary
+     */
+    private static Set<String> keysOf(String text) {
+        List<String> words = SearchTokenizer.tokenize(text);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < words.size(); i++) {
+            keys.add(String.join(" ", words.subList(i, words.size())));
+        }
+        return keys;
+    }
+
+    private static Node build(List<Key> keys, int from, int to, int depth, int topK) {
+        // Longest common prefix of the sorted range: compare first and last key
+        String first = keys.get(from).key();
+        String last = keys.get(to - 1).key();
+        int end = depth;
+        while (end < first.length() && end < last.length() && first.charAt(end) == last.charAt(end)) {
+            end++;
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        List<Node> children = new ArrayList<>();
+        int i = from;
+        while (i < to && keys.get(i).key().length() == end) {
+            entries.add(keys.get(i).entry());
+            i++;
+        }
+        List<Entry> candidates = new ArrayList<>(entries);
+        while (i < to) {
+            char next = keys.get(i).key().charAt(end);
+            int j = i;
+            while (j < to && keys.get(j).key().charAt(end) == next) {
+                j++;
+            }
+            Node child = build(keys, i, j, end, topK);
+            children.add(child);
+            candidates.addAll(child.top);
+            i = j;
+        }
+
+        return new Node(first.substring(depth, end), List.copyOf(entries), children.toArray(Node[]::new),
+            top(candidates, topK));
+    }
+
+    /**
+     * Copy of the node (covering key from depth) with the entry added under the key
+     */
+    private static Node insert(Node node, String key, int depth, Entry entry, int topK) {
+        String label = node.label;
+        int common = 0;
+        while (common < label.length() && depth + common < key.length()
+            && label.charAt(common) == key.charAt(depth + common)) {
+            common++;
+        }
+
+        if (common < label.length()) {
+            // The key leaves the label midway: split it, the old node keeps the rest of the label
+            Node rest = new Node(label.substring(common), node.entries, node.children, node.top);
+            int end = depth + common;
+            if (end == key.length()) {
+                return node(label.substring(0, common), List.of(entry), new Node[]{rest}, topK);
+            }
+            Node leaf = node(key.substring(end), List.of(entry), new Node[0], topK);
+            Node[] children = rest.label.charAt(0) < leaf.label.charAt(0)
+                ? new Node[]{rest, leaf}
+                : new Node[]{leaf, rest};
+            return node(label.substring(0, common), List.of(), children, topK);
+        }
+
+        int end = depth + label.length();
+        if (end == key.length()) {
+            List<Entry> entries = new ArrayList<>(node.entries);
+            entries.add(entry);
+            return node(label, List.copyOf(entries), node.children, topK);
+        }
+        int index = node.childIndex(key.charAt(end));
+        Node[] children;
+        if (index >= 0) {
+            children = node.children.clone();
+            children[index] = insert(children[index], key, end, entry, topK);
+        } else {
+            int at = -index - 1;
+            children = new Node[node.children.length + 1];
+            System.arraycopy(node.children, 0, children, 0, at);
+            children[at] = node(key.substring(end), List.of(entry), new Node[0], topK);
+            System.arraycopy(node.children, at, children, at + 1, node.children.length - at);
+        }
+        return node(label, node.entries, children, topK);
+    }
+
+    /**
+     * Copy of the node with the entry removed from under the key, or null when nothing is left
+     */
+    private static Node remove(Node node, String key, int depth, Entry entry, int topK) {
+        String label = node.label;
+        if (!key.startsWith(label, depth)) {
+            return node;
+        }
+
+        int end = depth + label.length();
+        List<Entry> entries = node.entries;
+        Node[] children = node.children;
+        if (end == key.length()) {
+            entries = new ArrayList<>(entries);
+            if (!entries.remove(entry)) {
+                return node;
+            }
+            entries = List.copyOf(entries);
+        } else {
+            int index = node.childIndex(key.charAt(end));
+            if (index < 0) {
+                return node;
+            }
+            Node child = remove(children[index], key, end, entry, topK);
+            if (child == children[index]) {
+                return node;
+            }
+            if (child != null) {
+                children = children.clone();
+                children[index] = child;
+            } else {
+                children = new Node[node.children.length - 1];
+                System.arraycopy(node.children, 0, children, 0, index);
+                System.arraycopy(node.children, index + 1, children, index, children.length - index);
+            }
+        }
+
+        if (entries.isEmpty() && children.length == 0) {
+            return null;
+        }
+        if (entries.isEmpty() && children.length == 1) {
+            // Keep the trie compressed: merge with the only child
+            Node only = children[0];
+            return new Node(label + only.label, only.entries, only.children, only.top);
+        }
+        return node(label, entries, children, topK);
+    }
+
+    private static Node node(String label, List<Entry> entries, Node[] children, int topK) {
+        List<Entry> candidates = new ArrayList<>(entries);
+        for (Node child : children) {
+            candidates.addAll(child.top);
+        }
+        return new Node(label, entries, children, top(candidates, topK));
+    }
+
+    private static List<Entry> top(List<Entry> candidates, int topK) {
+        candidates.sort(BY_RANK);
+        Map<SuggestionDTO, Entry> distinct = new LinkedHashMap<>();
+        for (Entry candidate : candidates) {
+            if (distinct.size() == topK) {
+                break;
+            }
+            distinct.putIfAbsent(candidate.suggestion(), candidate);
+        }
+        return List.copyOf(distinct.values());
+    }
+
+    private record Key(String key, Entry entry) {}
+
+    /**
+     * Children are sorted by the first character of their label
+     */
+    private static final class Node {
+        private final String label;
+        // Entries whose key ends at this node
+        private final List<Entry> entries;
+        private final Node[] children;
+        private final List<Entry> top;
+
+        private Node(String label, List<Entry> entries, Node[] children, List<Entry> top) {
+            this.label = label;
+            this.entries = entries;
+            this.children = children;
+            this.top = top;
+        }
+
+        private Node child(char first) {
+            int index = childIndex(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        /**
+         * Index of the child starting with the character, or -(insertion point) - 1
+         */
+        private int childIndex(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.jarothi.spot.jarothispot.catalog.stream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the most recent changes, numbered with consecutive sequences.
+ *
+ * One writer appends; any number of readers follow it with their own cursor and no locking.
+ * Each slot remembers the sequence it holds, so a reader that fell more than a ring behind
+ * notices that its next entry was overwritten instead of reading a newer one.
+ */
+final class ChangeRing<T> {
+
+    record Entry<T>(long sequence, T value) {}
+
+    private final AtomicReferenceArray<Entry<T>> slots;
+    private volatile long next;
+
+    ChangeRing(int capacity, long firstSequence) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.next = firstSequence;
+    }
+
+    /**
+     * Sequence the next appended change will get
+     */
+    long next() {
+        return next;
+    }
+
+    /**
+     * Whether a reader could still continue from this sequence
+     */
+    boolean isAvailable(long sequence) {
+        return sequence <= next && sequence >= next - slots.length();
+    }
+
+    synchronized long append(T value) {
+        long sequence = next;
+        slots.set(index(sequence), new Entry<>(sequence, value));
+        next = sequence + 1;
+        return sequence;
+    }
+
+    /**
+     * Up to max entries starting at sequence from, oldest first
+     *
+     * @return the entries, empty when the reader is up to date, or null when from has been overwritten
+     */
+    List<Entry<T>> readFrom(long from, int max) {
+        long end = Math.min(next, from + max);
+        List<Entry<T>> entries = new ArrayList<>((int) Math.max(0, end - from));
+        for (long sequence = from; sequence < end; sequence++) {
+            Entry<T> entry = slots.get(index(sequence));
+            if (entry == null || entry.sequence() != sequence) {
+                return null;
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private int index(long sequence) {
+        return (int) Math.floorMod(sequence, (long) slots.length());
+    }
+}
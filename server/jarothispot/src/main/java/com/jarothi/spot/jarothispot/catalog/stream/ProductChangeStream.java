@@ -0,0 +1,243 @@
+package com.jarothi.spot.jarothispot.catalog.stream;
+
+import com.jarothi.spot.jarothispot.catalog.dto.ProductChangeDTO;
+import com.jarothi.spot.jarothispot.catalog.event.CatalogImportedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductChangedEvent;
+import com.jarothi.spot.jarothispot.common.Money;
+import com.jarothi.spot.jarothispot.order.event.OrderPlacedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-Sent Events stream of product stock, price and active changes.
+ *
+ * Committed product writes and orders only add the product ID to a pending set. Every
+ * catalog.stream.coalesce-interval the pending products are read in one query and their
+ * current values appended to a shared {@link ChangeRing}, so a product changed many times
+ * in an interval is sent once. Bulk imports and updates change too many products to send
+ * one by one, so they append a reset instead, telling clients to reload their listings.
+ * Subscribers are just an emitter and a cursor into the ring:
+ * after each append the ones behind get a virtual thread that sends what they miss and
+ * ends, so idle connections hold no thread and a slow one delays nobody else. A subscriber
+ * that falls a whole ring behind gets a reset event and continues with new changes.
+ *
+ * Event IDs are sequences starting from the boot time in microseconds, so a client that
+ * reconnects with Last-Event-ID resumes where it left off, and one whose ID comes from a
+ * previous run gets a reset instead of wrong changes.
+ */
+@Service
+public class ProductChangeStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductChangeStream.class);
+
+    public static final String CHANGE_EVENT = "product";
+    public static final String RESET_EVENT = "reset";
+
+    private static final String SELECT_PRODUCTS = "SELECT id, price, stock, active FROM products WHERE id = ANY(?)";
+
+    // Entries sent per ring read; a subscriber keeps reading until it is up to date
+    private static final int READ_BATCH = 256;
+
+    // Ring entry standing for a reset, compared by identity
+    private static final ProductChangeDTO RESET = new ProductChangeDTO(null, null, null, false);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StreamProperties properties;
+    private final ChangeRing<ProductChangeDTO> ring;
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean resetPending = new AtomicBoolean();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ProductChangeStream(JdbcTemplate jdbcTemplate, StreamProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.ring = new ChangeRing<>(properties.getBufferSize(), System.currentTimeMillis() * 1000);
+    }
+
+    /**
+     * Open a subscription, resuming after lastEventId when it is still buffered
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        long next = ring.next();
+        boolean resumed = lastEventId != null && ring.isAvailable(lastEventId + 1);
+        Subscriber subscriber = new Subscriber(emitter, resumed ? lastEventId + 1 : next);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        try {
+            if (lastEventId != null && !resumed) {
+                emitter.send(SseEmitter.event().id(Long.toString(next - 1)).name(RESET_EVENT).data(""));
+            } else {
+                // Commits the response headers, so the client knows it is connected
+                emitter.send(SseEmitter.event().comment("subscribed"));
+            }
+        } catch (IOException e) {
+            logger.debug("Change stream subscriber left before subscribing: {}", e.getMessage());
+            return emitter;
+        }
+        subscribers.add(subscriber);
+        dispatch(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        pending.add(event.productId());
+    }
+
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        pending.addAll(event.unitsByProduct().keySet());
+    }
+
+    // Published after the bulk write has committed
+    @EventListener
+    public void onCatalogImported(CatalogImportedEvent event) {
+        resetPending.set(true);
+    }
+
+    /**
+     * Append the current values of the products changed since the last run, or a reset after a
+     * bulk write, and wake the subscribers
+     */
+    @Scheduled(fixedDelayString = "${catalog.stream.coalesce-interval:1s}")
+    public void publishPending() {
+        if (resetPending.getAndSet(false)) {
+            // Clients reload everything, so the products changed before it need not be sent
+            pending.clear();
+            ring.append(RESET);
+            subscribers.forEach(this::dispatch);
+            return;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+
+        Map<UUID, ProductChangeDTO> changes = new HashMap<>();
+        jdbcTemplate.query(SELECT_PRODUCTS,
+            statement -> statement.setArray(1, statement.getConnection().createArrayOf("uuid", ids.toArray())),
+            resultSet -> {
+                UUID id = resultSet.getObject("id", UUID.class);
+                changes.put(id, new ProductChangeDTO(id, resultSet.getInt("stock"),
+                    Money.of(resultSet.getBigDecimal("price")), resultSet.getBoolean("active")));
+            });
+        for (UUID id : ids) {
+            ring.append(changes.getOrDefault(id, new ProductChangeDTO(id, null, null, false)));
+        }
+        subscribers.forEach(this::dispatch);
+    }
+
+    /**
+     * Have idle subscribers send a comment, so connections closed by the client are released
+     */
+    @Scheduled(fixedDelayString = "${catalog.stream.heartbeat-interval:30s}",
+               initialDelayString = "${catalog.stream.heartbeat-interval:30s}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            dispatch(subscriber);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    // Start a sender unless one is already running for this subscriber
+    private void dispatch(Subscriber subscriber) {
+        boolean due = subscriber.heartbeatDue || subscriber.cursor < ring.next();
+        if (due && subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> send(subscriber));
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            boolean sent = false;
+            List<ChangeRing.Entry<ProductChangeDTO>> entries = ring.readFrom(subscriber.cursor, READ_BATCH);
+            while (entries != null && !entries.isEmpty()) {
+                for (ChangeRing.Entry<ProductChangeDTO> entry : entries) {
+                    if (entry.value() == RESET) {
+                        subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(entry.sequence()))
+                            .name(RESET_EVENT)
+                            .data(""));
+                    } else {
+                        subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(entry.sequence()))
+                            .name(CHANGE_EVENT)
+                            .data(entry.value(), MediaType.APPLICATION_JSON));
+                    }
+                    subscriber.cursor = entry.sequence() + 1;
+                }
+                sent = true;
+                entries = ring.readFrom(subscriber.cursor, READ_BATCH);
+            }
+            if (entries == null) {
+                long next = ring.next();
+                subscriber.emitter.send(SseEmitter.event().id(Long.toString(next - 1)).name(RESET_EVENT).data(""));
+                subscriber.cursor = next;
+                sent = true;
+            }
+            if (subscriber.heartbeatDue && !sent) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            subscriber.heartbeatDue = false;
+        } catch (IOException | IllegalStateException e) {
+            // Client gone or emitter already completed; the container ends the request itself
+            logger.debug("Dropping change stream subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            return;
+        } finally {
+            subscriber.sending.set(false);
+        }
+        // A change appended after the last read must not wait for the next one
+        if (subscriber.cursor < ring.next()) {
+            dispatch(subscriber);
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        // Only touched by the subscriber's current sender
+        private volatile long cursor;
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
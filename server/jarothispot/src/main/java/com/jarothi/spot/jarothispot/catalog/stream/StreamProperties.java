@@ -0,0 +1,30 @@
+package com.jarothi.spot.jarothispot.catalog.stream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.stream")
+public class StreamProperties {
+    // Changes to the same product within one interval are sent once, with the latest values
+    private Duration coalesceInterval = Duration.ofSeconds(1);
+    // Recent changes kept for slow subscribers and reconnects (Last-Event-ID)
+    private int bufferSize = 4096;
+    // Comment sent to idle subscribers, so closed connections are noticed
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+    // Subscriptions are closed after this long; clients reconnect and resume
+    private Duration timeout = Duration.ofMinutes(30);
+
+    // Getters and setters
+    public Duration getCoalesceInterval() { return coalesceInterval; }
+    public void setCoalesceInterval(Duration coalesceInterval) { this.coalesceInterval = coalesceInterval; }
+
+    public int getBufferSize() { return bufferSize; }
+    public void setBufferSize(int bufferSize) { this.bufferSize = bufferSize; }
+
+    public Duration getHeartbeatInterval() { return heartbeatInterval; }
+    public void setHeartbeatInterval(Duration heartbeatInterval) { this.heartbeatInterval = heartbeatInterval; }
+
+    public Duration getTimeout() { return timeout; }
+    public void setTimeout(Duration timeout) { this.timeout = timeout; }
+}
@@ -0,0 +1,50 @@
+package com.jarothi.spot.jarothispot.common;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaExpression;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Counts the rows matching a Specification, stopping after cap + 1 rows.
+ * Runs as WITH limited AS (SELECT 1 ... LIMIT cap + 1) SELECT count(*) FROM limited, like the
+ * native capped order count, so the cost is bounded by the cap and no rows leave the database.
+ */
+@Component
+@Transactional(readOnly = true)
+public class CappedCounter {
+
+    private final EntityManager entityManager;
+
+    public CappedCounter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public <T> long countUpTo(Class<T> type, Specification<T> specification, int cap) {
+        HibernateCriteriaBuilder criteriaBuilder = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        // A query of its own rather than a subquery, so the specification gets the query its
+        // root belongs to and nests its own subqueries there
+        JpaCriteriaQuery<Integer> limited = criteriaBuilder.createQuery(Integer.class);
+        Root<T> root = limited.from(type);
+        // CTE select items need an alias
+        JpaExpression<Integer> one = criteriaBuilder.literal(1);
+        one.alias("one");
+        limited.select(one);
+
+        Predicate predicate = specification.toPredicate(root, limited, criteriaBuilder);
+        if (predicate != null) {
+            limited.where(predicate);
+        }
+        limited.fetch(cap + 1);
+
+        JpaCriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        query.from(query.with(limited));
+        query.select(criteriaBuilder.count());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,49 @@
+package com.jarothi.spot.jarothispot.common;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Page whose total comes from a count capped at a maximum number of rows.
+ * When the cap is reached the total is a lower bound, exposed as "1000+" in totalLabel.
+ */
+public class CappedPage<T> extends PageImpl<T> {
+
+    public static final int DEFAULT_CAP = 1000;
+
+    private final boolean totalCapped;
+
+    public CappedPage(List<T> content, Pageable pageable, long total, boolean totalCapped) {
+        super(content, pageable, total);
+        this.totalCapped = totalCapped;
+    }
+
+    /**
+     * Build a capped page from a slice. The capped count only runs when the slice
+     * has a next page; otherwise the exact total is known from the slice itself.
+     *
+     * @param cappedCount counts matching rows, stopping after cap + 1 rows
+     */
+    public static <T> CappedPage<T> of(Slice<T> slice, int cap, LongSupplier cappedCount) {
+        Pageable pageable = slice.getPageable();
+        if (!slice.hasNext()) {
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            return new CappedPage<>(slice.getContent(), pageable, offset + slice.getNumberOfElements(), false);
+        }
+        long count = cappedCount.getAsLong();
+        boolean capped = count > cap;
+        return new CappedPage<>(slice.getContent(), pageable, capped ? cap : count, capped);
+    }
+
+    public boolean isTotalCapped() {
+        return totalCapped;
+    }
+
+    public String getTotalLabel() {
+        return totalCapped ? getTotalElements() + "+" : String.valueOf(getTotalElements());
+    }
+}
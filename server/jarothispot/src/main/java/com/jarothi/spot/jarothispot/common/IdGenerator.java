@@ -0,0 +1,15 @@
+package com.jarothi.spot.jarothispot.common;
+
+import java.util.UUID;
+
+/**
+ * Source of primary keys for new entities and rows, see {@link Ids}
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /** Random version 4 UUIDs, as UUID.randomUUID() */
+    IdGenerator RANDOM = UUID::randomUUID;
+
+    UUID next();
+}
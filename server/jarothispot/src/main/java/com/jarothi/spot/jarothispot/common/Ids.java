@@ -0,0 +1,25 @@
+package com.jarothi.spot.jarothispot.common;
+
+import java.util.UUID;
+
+/**
+ * Primary keys for entities and for rows written with plain JDBC. Entities assign their id
+ * when they are constructed, before any Spring bean exists, hence the static access.
+ *
+ * Time-ordered {@link UuidV7Generator} keys by default; another {@link IdGenerator}, such as
+ * {@link IdGenerator#RANDOM}, can be plugged in before entities are created.
+ */
+public final class Ids {
+
+    private static volatile IdGenerator generator = new UuidV7Generator();
+
+    private Ids() {}
+
+    public static UUID next() {
+        return generator.next();
+    }
+
+    public static void setGenerator(IdGenerator generator) {
+        Ids.generator = generator;
+    }
+}
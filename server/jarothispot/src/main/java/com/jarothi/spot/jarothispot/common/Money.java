@@ -0,0 +1,95 @@
+package com.jarothi.spot.jarothispot.common;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money in minor units (cents) of the store currency.
+ *
+ * Arithmetic stays on a single long and is overflow checked: an amount that does not fit
+ * throws {@link ArithmeticException} instead of wrapping. BigDecimal only appears at the
+ * boundaries, through {@link MoneyConverter} for JPA and as a plain decimal number in JSON
+ * (e.g. 19.99), so the API contract is the same as with BigDecimal. Serializable so that
+ * entities holding it can be kept in the Hibernate second-level cache.
+ */
+@Schema(type = "number", format = "decimal", example = "19.99")
+public record Money(long minorUnits) implements Comparable<Money>, Serializable {
+
+    /** Digits after the decimal point */
+    public static final int SCALE = 2;
+
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Convert an exact decimal amount
+     *
+     * @throws IllegalArgumentException if the amount has more than two decimals or does not fit
+     */
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        try {
+            return of(amount, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid amount: " + amount.toPlainString()
+                + " (at most " + SCALE + " decimals)");
+        }
+    }
+
+    /**
+     * Convert a decimal amount, rounding extra decimals (e.g. CEILING for a lower price bound)
+     */
+    public static Money of(BigDecimal amount, RoundingMode roundingMode) {
+        return ofMinor(amount.setScale(SCALE, roundingMode).unscaledValue().longValueExact());
+    }
+
+    public static Money parse(String amount) {
+        try {
+            return of(new BigDecimal(amount));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount: " + amount);
+        }
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(int quantity) {
+        return ofMinor(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    /**
+     * Plain decimal notation, e.g. "19.99"
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
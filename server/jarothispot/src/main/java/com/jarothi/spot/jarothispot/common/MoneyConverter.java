@@ -0,0 +1,25 @@
+package com.jarothi.spot.jarothispot.common;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Stores {@link Money} in NUMERIC(…, 2) columns; applied to every Money attribute
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        // Columns are scale 2; rounding only guards against a wider column definition
+        return amount == null ? null : Money.of(amount, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,29 @@
+package com.jarothi.spot.jarothispot.common;
+
+import java.util.Locale;
+
+/**
+ * How a paginated listing computes its total count
+ */
+public enum TotalsMode {
+    /** No count query: a Slice fetching size + 1 rows to know if there is a next page */
+    NONE,
+    /** Count capped at {@link CappedPage#DEFAULT_CAP} rows, reported as e.g. "1000+" */
+    ESTIMATE,
+    /** Full count query (Spring Page) */
+    EXACT;
+
+    /**
+     * Parse the value of a ?totals= request parameter, case insensitive
+     */
+    public static TotalsMode fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid totals mode: " + value + " (expected none, estimate or exact)");
+        }
+    }
+}
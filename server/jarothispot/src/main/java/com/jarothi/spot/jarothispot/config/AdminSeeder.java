@@ -1,43 +1,30 @@
 package com.jarothi.spot.jarothispot.config;
 
-import com.jarothi.spot.jarothispot.user.User;
-import com.jarothi.spot.jarothispot.user.UserRepository;
+import com.jarothi.spot.jarothispot.bootstrap.AdminAccountCreator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Component
 public class AdminSeeder implements CommandLineRunner {
      private static final Logger log = LoggerFactory.getLogger(AdminSeeder.class);
 
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final AdminAccountCreator adminAccountCreator;
     private final AdminProperties adminProps;
 
     public AdminSeeder(
-            UserRepository userRepository, 
-            PasswordEncoder passwordEncoder,
+            AdminAccountCreator adminAccountCreator,
             AdminProperties adminProps) {
-        this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.adminAccountCreator = adminAccountCreator;
         this.adminProps = adminProps;
     }
 
     @Override
     public void run(String... args) {
         String adminEmail = adminProps.getEmail();
-        boolean exists = userRepository.findByEmail(adminEmail).isPresent();
-        log.info("[AdminSeeder] Checking for admin user: {}. Exists? {}", adminEmail, exists);
-        if (!exists) {
+        if (adminAccountCreator.createIfMissing(adminEmail, adminProps.getPassword())) {
             log.info("[AdminSeeder] Creating admin user with email: {}", adminEmail);
-            User admin = new User();
-            admin.setEmail(adminEmail);
-            admin.setPasswordHash(passwordEncoder.encode(adminProps.getPassword()));
-            admin.setRoles(java.util.Collections.singleton(User.Role.ADMIN));
-            userRepository.save(admin);
-            log.info("[AdminSeeder] Admin user created successfully");
         } else {
             log.info("[AdminSeeder] Admin user already exists, skipping creation");
         }
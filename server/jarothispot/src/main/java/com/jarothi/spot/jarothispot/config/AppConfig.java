@@ -1,9 +1,23 @@
 package com.jarothi.spot.jarothispot.config;
 
 import com.jarothi.spot.jarothispot.bootstrap.AdminBootstrapProperties;
+import com.jarothi.spot.jarothispot.catalog.bestseller.BestsellerProperties;
+import com.jarothi.spot.jarothispot.catalog.bulk.BulkUpdateProperties;
+import com.jarothi.spot.jarothispot.catalog.bulk.ImportProperties;
+import com.jarothi.spot.jarothispot.catalog.cache.CatalogCacheProperties;
+import com.jarothi.spot.jarothispot.catalog.dto.FacetProperties;
+import com.jarothi.spot.jarothispot.catalog.related.RelatedProperties;
+import com.jarothi.spot.jarothispot.catalog.search.SearchProperties;
+import com.jarothi.spot.jarothispot.catalog.stream.StreamProperties;
+import com.jarothi.spot.jarothispot.datasource.DataSourceRoutingProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
-@EnableConfigurationProperties({AdminBootstrapProperties.class, AdminProperties.class})
+@EnableScheduling
+@EnableConfigurationProperties({AdminBootstrapProperties.class, AdminProperties.class, SearchProperties.class,
+    CatalogCacheProperties.class, FacetProperties.class, ImportProperties.class, BestsellerProperties.class,
+    RelatedProperties.class, BulkUpdateProperties.class, StreamProperties.class, DataSourceRoutingProperties.class,
+    EntityCacheProperties.class})
 public class AppConfig {}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.jarothi.spot.jarothispot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "jpa.entity-cache")
+public class EntityCacheProperties {
+    // Hibernate second-level cache regions by name; a region used by an entity but missing here fails startup
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    // Getters and setters
+    public Map<String, Region> getRegions() { return regions; }
+    public void setRegions(Map<String, Region> regions) { this.regions = regions; }
+
+    public static class Region {
+        // Entries kept before the least useful are evicted; unset for no limit
+        private Long maximumSize;
+        // Time to live of an entry; unset for no expiry
+        private Duration expireAfterWrite;
+
+        // Getters and setters
+        public Long getMaximumSize() { return maximumSize; }
+        public void setMaximumSize(Long maximumSize) { this.maximumSize = maximumSize; }
+
+        public Duration getExpireAfterWrite() { return expireAfterWrite; }
+        public void setExpireAfterWrite(Duration expireAfterWrite) { this.expireAfterWrite = expireAfterWrite; }
+    }
+}
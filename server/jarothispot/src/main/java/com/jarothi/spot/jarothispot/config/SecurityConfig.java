@@ -2,6 +2,7 @@ package com.jarothi.spot.jarothispot.config;
 
 
 import com.jarothi.spot.jarothispot.auth.jwt.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -43,10 +44,13 @@ public class SecurityConfig {
       .csrf(csrf -> csrf.disable())
       .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
       .authorizeHttpRequests(auth -> auth
+          // Streaming responses resume on an async dispatch; the request was authorized on the first one
+          .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
           .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
           .requestMatchers(HttpMethod.POST, "/api/auth/register").permitAll()
           .requestMatchers("/api/auth/**").permitAll()
-          .requestMatchers("/actuator/**").permitAll()
+          .requestMatchers("/actuator/health/**").permitAll()
+          .requestMatchers("/actuator/**").hasRole(API_ROLE_ADM_STRING)
           .requestMatchers("/v3/api-docs/**").permitAll()
           .requestMatchers("/swagger-ui/**").permitAll()
           .requestMatchers(HttpMethod.GET, API_PRODUCTS_PATTERN).permitAll()
@@ -59,6 +63,7 @@ public class SecurityConfig {
           .requestMatchers(HttpMethod.POST, "/api/categories").hasRole(API_ROLE_ADM_STRING)
           .requestMatchers(HttpMethod.PUT, "/api/categories/**").hasRole(API_ROLE_ADM_STRING)
           .requestMatchers(HttpMethod.DELETE, "/api/categories/**").hasRole(API_ROLE_ADM_STRING)
+          .requestMatchers("/api/admin/**").hasRole(API_ROLE_ADM_STRING)
           .requestMatchers(HttpMethod.GET, API_CART_PATTERN).authenticated()
           .requestMatchers(HttpMethod.POST, API_CART_PATTERN).authenticated()
           .requestMatchers(HttpMethod.PUT, API_CART_PATTERN).authenticated()
@@ -0,0 +1,81 @@
+package com.jarothi.spot.jarothispot.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write splitting, enabled by setting datasource.routing.replica-urls to at least one
+ * URL; an empty or blank value leaves every connection on the primary.
+ *
+ * The application DataSource is a {@link LazyConnectionDataSourceProxy}: it only takes a
+ * physical connection at the first statement, after the transaction manager has marked
+ * the connection read-only or not. Read-only transactions (@Transactional(readOnly = true))
+ * then go to a replica through {@link ReplicaRoutingDataSource}; everything else, including
+ * work outside transactions and Flyway, goes to the primary spring.datasource pool.
+ */
+@Configuration
+@Conditional(DataSourceRoutingConfig.ReplicaUrlsConfigured.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaSet replicaSet(HikariDataSource primaryDataSource,
+                                 DataSourceProperties dataSourceProperties,
+                                 DataSourceRoutingProperties properties,
+                                 MeterRegistry meterRegistry) {
+        return new ReplicaSet(primaryDataSource, dataSourceProperties, properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaSet replicaSet) {
+        LazyConnectionDataSourceProxy dataSource =
+            new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primaryDataSource));
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primaryDataSource, replicaSet));
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(DataSourceRoutingProperties properties) {
+        return new ReadYourWritesFilter(properties.getReadYourWritesWindow());
+    }
+
+    /**
+     * Matches when replica-urls binds to at least one non-blank URL; the property being
+     * present is not enough, since a blank value binds to an empty list
+     */
+    static class ReplicaUrlsConfigured implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return Binder.get(context.getEnvironment())
+                .bind("datasource.routing.replica-urls", Bindable.listOf(String.class))
+                .map(urls -> urls.stream().anyMatch(StringUtils::hasText))
+                .orElse(false);
+        }
+    }
+}
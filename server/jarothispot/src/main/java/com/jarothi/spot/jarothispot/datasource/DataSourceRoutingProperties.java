@@ -0,0 +1,36 @@
+package com.jarothi.spot.jarothispot.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "datasource.routing")
+public class DataSourceRoutingProperties {
+    // JDBC URLs of read replicas, with the spring.datasource credentials; none disables routing
+    private List<String> replicaUrls = new ArrayList<>();
+    // Connections per replica pool
+    private int replicaPoolSize = 10;
+    // Replicas further behind the primary than this are not used
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+    // How long a user's reads stay on the primary after one of their writes
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // Getters and setters
+    public List<String> getReplicaUrls() { return replicaUrls; }
+    public void setReplicaUrls(List<String> replicaUrls) { this.replicaUrls = replicaUrls; }
+
+    public int getReplicaPoolSize() { return replicaPoolSize; }
+    public void setReplicaPoolSize(int replicaPoolSize) { this.replicaPoolSize = replicaPoolSize; }
+
+    public Duration getMaxLag() { return maxLag; }
+    public void setMaxLag(Duration maxLag) { this.maxLag = maxLag; }
+
+    public Duration getLagCheckInterval() { return lagCheckInterval; }
+    public void setLagCheckInterval(Duration lagCheckInterval) { this.lagCheckInterval = lagCheckInterval; }
+
+    public Duration getReadYourWritesWindow() { return readYourWritesWindow; }
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) { this.readYourWritesWindow = readYourWritesWindow; }
+}
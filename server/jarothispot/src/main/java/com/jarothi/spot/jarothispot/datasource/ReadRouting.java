@@ -0,0 +1,58 @@
+package com.jarothi.spot.jarothispot.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override that keeps read-only transactions on the primary. Reads that must
+ * see the latest commit, such as loads that fill a cache, run inside {@link #onPrimary}.
+ * Without configured replicas every read uses the primary anyway and this is a no-op.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {}
+
+    /**
+     * Run work with every connection it opens taken from the primary
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        boolean previous = pin();
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Run work with every connection it opens taken from the primary
+     */
+    public static void onPrimary(Runnable work) {
+        boolean previous = pin();
+        try {
+            work.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    static boolean isPinnedToPrimary() {
+        return PRIMARY.get() != null;
+    }
+
+    /**
+     * Pin the current thread, returning whether it already was
+     */
+    static boolean pin() {
+        boolean previous = isPinnedToPrimary();
+        PRIMARY.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void restore(boolean previous) {
+        if (!previous) {
+            PRIMARY.remove();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.jarothi.spot.jarothispot.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes across requests: after an authenticated user sends a mutating request
+ * (e.g. adds to the cart or places an order), their requests read from the primary for
+ * datasource.routing.read-your-writes-window, so they never see a replica that has not
+ * replayed their own change yet. Runs after the security filter chain.
+ */
+class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Cache<String, Boolean> recentWriters;
+
+    ReadYourWritesFilter(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+            .expireAfterWrite(window)
+            .maximumSize(100_000)
+            .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String user = currentUser();
+        if (user == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean pinned = recentWriters.getIfPresent(user) != null;
+        boolean previous = pinned && ReadRouting.pin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (pinned) {
+                ReadRouting.restore(previous);
+            }
+            // The window starts once the write has committed
+            if (!SAFE_METHODS.contains(request.getMethod())) {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
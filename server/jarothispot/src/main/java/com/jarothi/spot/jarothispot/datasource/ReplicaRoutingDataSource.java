@@ -0,0 +1,39 @@
+package com.jarothi.spot.jarothispot.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Target of read-only connections: a replica within the allowed lag, or the primary when the
+ * thread is pinned to it ({@link ReadRouting}) or no replica is usable.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private final ReplicaSet replicaSet;
+
+    ReplicaRoutingDataSource(DataSource primaryDataSource, ReplicaSet replicaSet) {
+        this.replicaSet = replicaSet;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primaryDataSource);
+        for (ReplicaSet.Replica replica : replicaSet.getReplicas()) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primaryDataSource);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (ReadRouting.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        ReplicaSet.Replica replica = replicaSet.choose();
+        return replica == null ? PRIMARY : replica.getName();
+    }
+}
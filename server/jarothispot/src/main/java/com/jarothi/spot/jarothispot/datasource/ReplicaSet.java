@@ -0,0 +1,182 @@
+package com.jarothi.spot.jarothispot.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection pools of the read replicas and how far each is behind the primary.
+ *
+ * Every datasource.routing.lag-check-interval the primary's current WAL position is compared
+ * with the position each replica has replayed. A replica that has replayed everything has no
+ * lag; otherwise its lag is the age of the last transaction it replayed. Replicas that cannot
+ * be reached, or lag more than datasource.routing.max-lag, are skipped by {@link #choose()}
+ * until a later check finds them caught up. A server that is not in recovery (a plain second
+ * instance, e.g. for local testing) is treated as up to date. Lag is exported as the
+ * jarothi.datasource.replica.lag gauge.
+ */
+public class ReplicaSet implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaSet.class);
+
+    private static final String SELECT_PRIMARY_POSITION = "SELECT pg_current_wal_lsn()::text";
+
+    private static final String SELECT_REPLICA_LAG = """
+        SELECT pg_is_in_recovery(),
+               pg_wal_lsn_diff(CAST(? AS pg_lsn), pg_last_wal_replay_lsn()),
+               EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+        """;
+
+    /**
+     * One replica pool; lag is null until measured and while the replica is unreachable
+     */
+    static final class Replica {
+        private final String name;
+        private final String url;
+        private final HikariDataSource dataSource;
+        private volatile Duration lag;
+
+        private Replica(String name, String url, HikariDataSource dataSource) {
+            this.name = name;
+            this.url = url;
+            this.dataSource = dataSource;
+        }
+
+        String getName() { return name; }
+        DataSource getDataSource() { return dataSource; }
+        Duration getLag() { return lag; }
+    }
+
+    private final JdbcTemplate primary;
+    private final Duration maxLag;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaSet(DataSource primaryDataSource,
+                      DataSourceProperties dataSourceProperties,
+                      DataSourceRoutingProperties properties,
+                      MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.maxLag = properties.getMaxLag();
+        for (String url : properties.getReplicaUrls()) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(url);
+            config.setUsername(dataSourceProperties.determineUsername());
+            config.setPassword(dataSourceProperties.determinePassword());
+            config.setMaximumPoolSize(properties.getReplicaPoolSize());
+            config.setReadOnly(true);
+            // An unreachable replica must not stop the application from starting
+            config.setInitializationFailTimeout(-1);
+            Replica replica = new Replica(name, url, new HikariDataSource(config));
+            replicas.add(replica);
+            Gauge.builder("jarothi.datasource.replica.lag", replica,
+                    measured -> measured.lag == null ? Double.NaN : measured.lag.toMillis() / 1000.0)
+                .tag("replica", name)
+                .baseUnit("seconds")
+                .description("How far the replica is behind the primary; NaN while unreachable")
+                .register(meterRegistry);
+        }
+    }
+
+    List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Next replica within the allowed lag, round robin, or null if there is none
+     */
+    Replica choose() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            Duration lag = replica.lag;
+            if (lag != null && lag.compareTo(maxLag) <= 0) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.lag-check-interval:2s}")
+    public void checkLag() {
+        String primaryPosition;
+        try {
+            primaryPosition = primary.queryForObject(SELECT_PRIMARY_POSITION, String.class);
+        } catch (RuntimeException e) {
+            logger.warn("Could not read the primary WAL position, replica lag not updated: {}", e.getMessage());
+            return;
+        }
+        for (Replica replica : replicas) {
+            Duration previous = replica.lag;
+            try {
+                replica.lag = measureLag(replica, primaryPosition);
+            } catch (SQLException | RuntimeException e) {
+                replica.lag = null;
+                if (previous != null) {
+                    logger.warn("Replica {} ({}) is unreachable, reads go elsewhere: {}",
+                        replica.name, replica.url, e.getMessage());
+                }
+                continue;
+            }
+            boolean wasUsable = previous != null && previous.compareTo(maxLag) <= 0;
+            boolean usable = replica.lag.compareTo(maxLag) <= 0;
+            if (wasUsable != usable) {
+                logger.info("Replica {} is {} (lag {})", replica.name, usable ? "in use" : "skipped", replica.lag);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static Duration measureLag(Replica replica, String primaryPosition) throws SQLException {
+        try (Connection connection = replica.dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_REPLICA_LAG)) {
+            statement.setString(1, primaryPosition);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                if (!resultSet.getBoolean(1)) {
+                    return Duration.ZERO;
+                }
+                double bytesBehind = resultSet.getDouble(2);
+                if (!resultSet.wasNull() && bytesBehind <= 0) {
+                    return Duration.ZERO;
+                }
+                double seconds = resultSet.getDouble(3);
+                if (resultSet.wasNull()) {
+                    throw new SQLException("Replica has not replayed any transaction yet");
+                }
+                return Duration.ofMillis((long) (Math.max(0, seconds) * 1000));
+            }
+        }
+    }
+}
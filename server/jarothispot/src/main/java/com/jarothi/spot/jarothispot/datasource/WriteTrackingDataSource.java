@@ -0,0 +1,95 @@
+package com.jarothi.spot.jarothispot.datasource;
+
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The primary, as target of read-write connections. When a write transaction takes a
+ * connection, the thread is pinned to the primary from its commit until it completes, so
+ * after-commit listeners that reload in-memory views read what was just committed rather
+ * than a replica that may not have replayed it yet.
+ */
+class WriteTrackingDataSource extends DelegatingDataSource {
+
+    WriteTrackingDataSource(DataSource primaryDataSource) {
+        super(primaryDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        trackWrite();
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        trackWrite();
+        return super.getConnection(username, password);
+    }
+
+    private void trackWrite() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new PinAfterCommit(this));
+        }
+    }
+
+    private static final class PinAfterCommit implements TransactionSynchronization {
+        private final Object resourceKey;
+
+        private PinAfterCommit(Object resourceKey) {
+            this.resourceKey = resourceKey;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(resourceKey);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(resourceKey, Boolean.TRUE);
+        }
+
+        @Override
+        public void afterCommit() {
+            TransactionSynchronizationManager.registerSynchronization(new ReleasePin(ReadRouting.pin()));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+        }
+    }
+
+    /**
+     * After-commit event listeners run in afterCompletion, sorted by order and then by
+     * registration. Registered from afterCommit, after every listener's synchronization, and
+     * with the lowest precedence, this runs last even behind unordered listeners.
+     */
+    private static final class ReleasePin implements TransactionSynchronization {
+        private final boolean previous;
+
+        private ReleasePin(boolean previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            ReadRouting.restore(previous);
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package com.jarothi.spot.jarothispot.order;
 
+import com.jarothi.spot.jarothispot.common.Ids;
+import com.jarothi.spot.jarothispot.common.Money;
 import com.jarothi.spot.jarothispot.user.User;
 import jakarta.persistence.*;
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
@@ -14,7 +15,7 @@ public class Order {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
-    private UUID id = UUID.randomUUID();
+    private UUID id = Ids.next();
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -25,7 +26,7 @@ public class Order {
     private OrderStatus status;
 
     @Column(name = "total", nullable = false, precision = 10, scale = 2)
-    private BigDecimal total;
+    private Money total;
 
     @Column(name = "created_at", nullable = false)
     private Instant createdAt = Instant.now();
@@ -46,7 +47,7 @@ public class Order {
         // This constructor is intentionally empty. Required by JPA specification.
     }
 
-    public Order(User user, OrderStatus status, BigDecimal total) {
+    public Order(User user, OrderStatus status, Money total) {
         this.user = user;
         this.status = status;
         this.total = total;
@@ -77,11 +78,11 @@ public class Order {
         this.status = status;
     }
 
-    public BigDecimal getTotal() {
+    public Money getTotal() {
         return total;
     }
 
-    public void setTotal(BigDecimal total) {
+    public void setTotal(Money total) {
         this.total = total;
     }
 
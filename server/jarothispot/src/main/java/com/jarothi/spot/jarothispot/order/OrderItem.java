@@ -1,8 +1,10 @@
 package com.jarothi.spot.jarothispot.order;
 
 import com.jarothi.spot.jarothispot.catalog.Product;
+import com.jarothi.spot.jarothispot.common.Ids;
+import com.jarothi.spot.jarothispot.common.Money;
 import jakarta.persistence.*;
-import java.math.BigDecimal;
+
 import java.util.UUID;
 
 @Entity
@@ -11,7 +13,7 @@ public class OrderItem {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
-    private UUID id = UUID.randomUUID();
+    private UUID id = Ids.next();
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
@@ -25,14 +27,14 @@ public class OrderItem {
     private int quantity;
 
     @Column(name = "unit_price_snapshot", nullable = false, precision = 10, scale = 2)
-    private BigDecimal unitPriceSnapshot;
+    private Money unitPriceSnapshot;
 
     // Constructors
     public OrderItem() {
         // This constructor is intentionally empty. Required by JPA specification.
     }
 
-    public OrderItem(Order order, Product product, int quantity, BigDecimal unitPriceSnapshot) {
+    public OrderItem(Order order, Product product, int quantity, Money unitPriceSnapshot) {
         this.order = order;
         this.product = product;
         this.quantity = quantity;
@@ -72,17 +74,17 @@ public class OrderItem {
         this.quantity = quantity;
     }
 
-    public BigDecimal getUnitPriceSnapshot() {
+    public Money getUnitPriceSnapshot() {
         return unitPriceSnapshot;
     }
 
-    public void setUnitPriceSnapshot(BigDecimal unitPriceSnapshot) {
+    public void setUnitPriceSnapshot(Money unitPriceSnapshot) {
         this.unitPriceSnapshot = unitPriceSnapshot;
     }
 
     // Utility methods
-    public BigDecimal getTotalPrice() {
-        return unitPriceSnapshot.multiply(BigDecimal.valueOf(quantity));
+    public Money getTotalPrice() {
+        return unitPriceSnapshot.times(quantity);
     }
 
     @Override
@@ -1,6 +1,7 @@
 package com.jarothi.spot.jarothispot.order.controller;
 
 import com.jarothi.spot.jarothispot.cart.dto.CheckoutRequest;
+import com.jarothi.spot.jarothispot.common.TotalsMode;
 import com.jarothi.spot.jarothispot.order.dto.OrderDTO;
 import com.jarothi.spot.jarothispot.order.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,9 +10,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -35,15 +36,16 @@ public class OrderController {
         @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Authentication required")
     })
-    public ResponseEntity<Page<OrderDTO>> getMyOrders(
+    public ResponseEntity<Slice<OrderDTO>> getMyOrders(
         @RequestParam(defaultValue = "0") int page,
         @RequestParam(defaultValue = "10") int size,
         @RequestParam(defaultValue = "createdAt") String sortBy,
-        @RequestParam(defaultValue = "desc") String sortDir
+        @RequestParam(defaultValue = "desc") String sortDir,
+        @RequestParam(defaultValue = "exact") String totals
     ) {
         Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<OrderDTO> orders = orderService.getMyOrders(pageable);
+        Slice<OrderDTO> orders = orderService.getMyOrders(pageable, TotalsMode.fromParam(totals));
         return ResponseEntity.ok(orders);
     }
 
@@ -1,8 +1,8 @@
 package com.jarothi.spot.jarothispot.order.dto;
 
+import com.jarothi.spot.jarothispot.common.Money;
 import com.jarothi.spot.jarothispot.order.Order;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,7 +11,7 @@ import java.util.UUID;
 public class OrderDTO {
 
     private UUID id;
-    private BigDecimal total;
+    private Money total;
     private Order.OrderStatus status;
     private Instant createdAt;
     private List<OrderItemDTO> items;
@@ -21,7 +21,7 @@ public class OrderDTO {
         this.items = new ArrayList<>();
     }
 
-    public OrderDTO(UUID id, BigDecimal total, Order.OrderStatus status, Instant createdAt, List<OrderItemDTO> items) {
+    public OrderDTO(UUID id, Money total, Order.OrderStatus status, Instant createdAt, List<OrderItemDTO> items) {
         this.id = id;
         this.total = total;
         this.status = status;
@@ -38,11 +38,11 @@ public class OrderDTO {
         this.id = id;
     }
 
-    public BigDecimal getTotal() {
+    public Money getTotal() {
         return total;
     }
 
-    public void setTotal(BigDecimal total) {
+    public void setTotal(Money total) {
         this.total = total;
     }
 
@@ -1,6 +1,7 @@
 package com.jarothi.spot.jarothispot.order.dto;
 
-import java.math.BigDecimal;
+import com.jarothi.spot.jarothispot.common.Money;
+
 import java.util.UUID;
 
 public class OrderItemDTO {
@@ -10,8 +11,8 @@ public class OrderItemDTO {
     private String title;
     private String imageUrl;
     private int qty;
-    private BigDecimal unitPrice;
-    private BigDecimal lineTotal;
+    private Money unitPrice;
+    private Money lineTotal;
 
     // Constructors
     public OrderItemDTO() {
@@ -19,7 +20,7 @@ public class OrderItemDTO {
     }
 
     public OrderItemDTO(UUID id, UUID productId, String title, String imageUrl, 
-                       int qty, BigDecimal unitPrice, BigDecimal lineTotal) {
+                       int qty, Money unitPrice, Money lineTotal) {
         this.id = id;
         this.productId = productId;
         this.title = title;
@@ -70,19 +71,19 @@ public class OrderItemDTO {
         this.qty = qty;
     }
 
-    public BigDecimal getUnitPrice() {
+    public Money getUnitPrice() {
         return unitPrice;
     }
 
-    public void setUnitPrice(BigDecimal unitPrice) {
+    public void setUnitPrice(Money unitPrice) {
         this.unitPrice = unitPrice;
     }
 
-    public BigDecimal getLineTotal() {
+    public Money getLineTotal() {
         return lineTotal;
     }
 
-    public void setLineTotal(BigDecimal lineTotal) {
+    public void setLineTotal(Money lineTotal) {
         this.lineTotal = lineTotal;
     }
 
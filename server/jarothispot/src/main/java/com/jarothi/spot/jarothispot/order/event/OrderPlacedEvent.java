@@ -0,0 +1,15 @@
+package com.jarothi.spot.jarothispot.order.event;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Published by checkout inside the order transaction, with the units bought per product.
+ * Listeners keeping derived data in memory should react after commit.
+ */
+public record OrderPlacedEvent(
+    UUID orderId,
+    Instant placedAt,
+    Map<UUID, Integer> unitsByProduct
+) {}
@@ -3,6 +3,7 @@ package com.jarothi.spot.jarothispot.order.repository;
 import com.jarothi.spot.jarothispot.order.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,6 +21,12 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     @Query("SELECT o FROM Order o WHERE o.user.id = :userId")
     Page<Order> findByUserIdOrderByCreatedAtDesc(@Param("userId") UUID userId, Pageable pageable);
 
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId")
+    Slice<Order> findSliceByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM orders WHERE user_id = :userId LIMIT :cap) capped", nativeQuery = true)
+    long countByUserIdUpTo(@Param("userId") UUID userId, @Param("cap") int cap);
+
     @Query("SELECT o FROM Order o JOIN FETCH o.items oi JOIN FETCH oi.product WHERE o.id = :orderId")
     Order findByIdWithItems(@Param("orderId") UUID orderId);
 }
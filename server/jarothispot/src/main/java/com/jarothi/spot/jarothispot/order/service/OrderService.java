@@ -7,16 +7,22 @@ import com.jarothi.spot.jarothispot.cart.repository.CartRepository;
 import com.jarothi.spot.jarothispot.cart.repository.CartItemRepository;
 import com.jarothi.spot.jarothispot.catalog.Product;
 import com.jarothi.spot.jarothispot.catalog.ProductRepository;
+import com.jarothi.spot.jarothispot.common.CappedPage;
+import com.jarothi.spot.jarothispot.common.Money;
+import com.jarothi.spot.jarothispot.common.TotalsMode;
 import com.jarothi.spot.jarothispot.order.exception.InsufficientStockException;
 import com.jarothi.spot.jarothispot.order.Order;
 import com.jarothi.spot.jarothispot.order.OrderItem;
 import com.jarothi.spot.jarothispot.order.dto.OrderDTO;
 import com.jarothi.spot.jarothispot.order.dto.OrderItemDTO;
+import com.jarothi.spot.jarothispot.order.event.OrderPlacedEvent;
 import com.jarothi.spot.jarothispot.order.repository.OrderRepository;
 import com.jarothi.spot.jarothispot.user.User;
 import com.jarothi.spot.jarothispot.user.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,8 +30,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -38,17 +45,20 @@ public class OrderService {
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public OrderService(OrderRepository orderRepository,
                        CartRepository cartRepository,
                        CartItemRepository cartItemRepository,
                        ProductRepository productRepository,
-                       UserRepository userRepository) {
+                       UserRepository userRepository,
+                       ApplicationEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public OrderDTO createFromCart(CheckoutRequest request) {
@@ -73,8 +83,8 @@ public class OrderService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No valid items found for checkout");
         }
 
-        // Validate stock and lock products
-        BigDecimal totalAmount = BigDecimal.ZERO;
+        // Validate stock and lock products, summing the total in cents
+        long totalAmount = 0;
         for (CartItem item : selectedItems) {
             Product product = productRepository.findByIdForUpdate(item.getProduct().getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, 
@@ -88,16 +98,18 @@ public class OrderService {
                 );
             }
 
-            totalAmount = totalAmount.add(product.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            totalAmount = Math.addExact(totalAmount, Math.multiplyExact(product.getPrice().minorUnits(), item.getQuantity()));
         }
 
         // Create order
-        Order order = new Order(currentUser, Order.OrderStatus.PAID, totalAmount);
+        Order order = new Order(currentUser, Order.OrderStatus.PAID, Money.ofMinor(totalAmount));
         order = orderRepository.save(order);
 
         // Create order items and update stock
+        Map<UUID, Integer> unitsByProduct = new HashMap<>();
         for (CartItem cartItem : selectedItems) {
             Product product = cartItem.getProduct();
+            unitsByProduct.merge(product.getId(), cartItem.getQuantity(), Integer::sum);
             
             // Create order item with price snapshot
             OrderItem orderItem = new OrderItem(
@@ -119,6 +131,7 @@ public class OrderService {
             cart.getItems().remove(cartItem);
         }
 
+        eventPublisher.publishEvent(new OrderPlacedEvent(order.getId(), order.getCreatedAt(), unitsByProduct));
         return mapToOrderDTO(order);
     }
 
@@ -128,6 +141,22 @@ public class OrderService {
         return orders.map(this::mapToOrderDTO);
     }
 
+    public Slice<OrderDTO> getMyOrders(Pageable pageable, TotalsMode totals) {
+        if (totals == TotalsMode.EXACT) {
+            return getMyOrders(pageable);
+        }
+
+        User currentUser = getCurrentUser();
+        Slice<OrderDTO> orders = orderRepository.findSliceByUserId(currentUser.getId(), pageable)
+            .map(this::mapToOrderDTO);
+
+        if (totals == TotalsMode.NONE) {
+            return orders;
+        }
+        return CappedPage.of(orders, CappedPage.DEFAULT_CAP,
+            () -> orderRepository.countByUserIdUpTo(currentUser.getId(), CappedPage.DEFAULT_CAP + 1));
+    }
+
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
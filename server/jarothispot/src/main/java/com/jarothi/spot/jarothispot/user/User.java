@@ -1,6 +1,9 @@
 package com.jarothi.spot.jarothispot.user;
 
+import com.jarothi.spot.jarothispot.common.Ids;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.Instant;
 import java.util.*;
 
@@ -8,11 +11,13 @@ import java.util.*;
 @Table(name = "users", uniqueConstraints = {
     @UniqueConstraint(name = "uk_users_email", columnNames = "email")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User {
 
   @Id
   @Column(name = "id", nullable = false, updatable = false)
-  private UUID id = UUID.randomUUID();
+  private UUID id = Ids.next();
 
   @Column(name = "email", nullable = false)
   private String email;
@@ -23,6 +28,7 @@ public class User {
   @Column(name = "password_hash", nullable = false)
   private String passwordHash;
 
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
   @ElementCollection(fetch = FetchType.EAGER)
   @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
   @Column(name = "role", nullable = false)
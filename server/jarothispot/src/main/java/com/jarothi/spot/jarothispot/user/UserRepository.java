@@ -1,11 +1,16 @@
 package com.jarothi.spot.jarothispot.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
+  // Looked up on every authenticated request; the query cache keeps the id, the entity cache the user
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Optional<User> findByEmail(String email);
   boolean existsByEmail(String email);
   boolean existsByPhone(String phone);
@@ -0,0 +1,15 @@
+-- Units sold per product and hour, upserted by checkout; feeds the bestseller rankings
+CREATE TABLE product_sales_hourly (
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    product_id UUID NOT NULL,
+    units BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, product_id),
+    CONSTRAINT fk_product_sales_hourly_product FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
+
+-- Backfill once from the existing order history
+INSERT INTO product_sales_hourly (bucket_start, product_id, units)
+SELECT date_trunc('hour', o.created_at::timestamptz), oi.product_id, SUM(oi.quantity)
+FROM order_items oi
+JOIN orders o ON o.id = oi.order_id
+GROUP BY 1, 2;
@@ -0,0 +1,15 @@
+-- Orders containing both products, one row per direction; written periodically from memory
+CREATE TABLE product_co_occurrence (
+    product_id UUID NOT NULL,
+    related_id UUID NOT NULL,
+    times INTEGER NOT NULL,
+    PRIMARY KEY (product_id, related_id),
+    CONSTRAINT fk_product_co_occurrence_product FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+    CONSTRAINT fk_product_co_occurrence_related FOREIGN KEY (related_id) REFERENCES products(id) ON DELETE CASCADE
+);
+
+-- Creation time of the newest order included in the persisted counts; later orders are replayed on startup
+CREATE TABLE product_co_occurrence_state (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    last_order_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,95 @@
+-- Number of active products per category, maintained by triggers in the writing transaction
+-- so counting a category is a primary key lookup instead of a scan of product_categories.
+-- Statement-level triggers aggregate their transition tables, so bulk imports and bulk
+-- updates cost one grouped upsert per statement rather than one per row.
+CREATE TABLE product_category_counts (
+    category_id UUID PRIMARY KEY,
+    active_products BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_product_category_counts_category FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE
+);
+
+INSERT INTO product_category_counts (category_id, active_products)
+SELECT pc.category_id, COUNT(*)
+FROM product_categories pc
+JOIN products p ON p.id = pc.product_id
+WHERE p.active
+GROUP BY pc.category_id;
+
+-- Links added to active products
+CREATE FUNCTION count_added_product_categories() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO product_category_counts AS c (category_id, active_products)
+    SELECT l.category_id, COUNT(*)
+    FROM added_links l
+    JOIN products p ON p.id = l.product_id
+    WHERE p.active
+    GROUP BY l.category_id
+    ORDER BY l.category_id
+    ON CONFLICT (category_id) DO UPDATE SET active_products = c.active_products + EXCLUDED.active_products;
+    RETURN NULL;
+END $$;
+
+-- Links removed from active products; links removed by deleting their product no longer
+-- join and were counted by count_deleted_product
+CREATE FUNCTION count_removed_product_categories() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE product_category_counts c
+    SET active_products = c.active_products - removed.links
+    FROM (
+        SELECT l.category_id, COUNT(*) AS links
+        FROM removed_links l
+        JOIN products p ON p.id = l.product_id
+        WHERE p.active
+        GROUP BY l.category_id
+    ) removed
+    WHERE c.category_id = removed.category_id;
+    RETURN NULL;
+END $$;
+
+-- Products activated or deactivated
+CREATE FUNCTION count_updated_products() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO product_category_counts AS c (category_id, active_products)
+    SELECT l.category_id, SUM(CASE WHEN n.active THEN 1 ELSE -1 END)
+    FROM new_products n
+    JOIN old_products o ON o.id = n.id
+    JOIN product_categories l ON l.product_id = n.id
+    WHERE n.active <> o.active
+    GROUP BY l.category_id
+    ORDER BY l.category_id
+    ON CONFLICT (category_id) DO UPDATE SET active_products = c.active_products + EXCLUDED.active_products;
+    RETURN NULL;
+END $$;
+
+-- Active products deleted while they still have links (the links go by cascade afterwards)
+CREATE FUNCTION count_deleted_product() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE product_category_counts c
+    SET active_products = c.active_products - 1
+    FROM product_categories l
+    WHERE l.product_id = OLD.id AND c.category_id = l.category_id;
+    RETURN OLD;
+END $$;
+
+CREATE TRIGGER trg_product_categories_counted_insert
+    AFTER INSERT ON product_categories
+    REFERENCING NEW TABLE AS added_links
+    FOR EACH STATEMENT EXECUTE FUNCTION count_added_product_categories();
+
+CREATE TRIGGER trg_product_categories_counted_delete
+    AFTER DELETE ON product_categories
+    REFERENCING OLD TABLE AS removed_links
+    FOR EACH STATEMENT EXECUTE FUNCTION count_removed_product_categories();
+
+CREATE TRIGGER trg_products_counted_update
+    AFTER UPDATE ON products
+    REFERENCING OLD TABLE AS old_products NEW TABLE AS new_products
+    FOR EACH STATEMENT EXECUTE FUNCTION count_updated_products();
+
+CREATE TRIGGER trg_products_counted_delete
+    BEFORE DELETE ON products
+    FOR EACH ROW WHEN (OLD.active) EXECUTE FUNCTION count_deleted_product();
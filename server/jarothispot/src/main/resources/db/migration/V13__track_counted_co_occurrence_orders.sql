@@ -0,0 +1,19 @@
+-- Orders already added to product_co_occurrence. Instances claim an order here in the same
+-- transaction that adds its pairs, so an order is counted once however many instances persist
+-- or replay it; rows older than the replay window are pruned
+CREATE TABLE product_co_occurrence_orders (
+    order_id UUID PRIMARY KEY,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_product_co_occurrence_orders_created_at ON product_co_occurrence_orders(created_at);
+
+-- Orders up to the previous watermark are already in the counts
+INSERT INTO product_co_occurrence_orders (order_id, created_at)
+SELECT o.id, o.created_at
+FROM orders o
+JOIN product_co_occurrence_state s ON s.id = 1
+WHERE o.created_at <= s.last_order_at
+  AND o.created_at > s.last_order_at - INTERVAL '1 day';
+
+DROP TABLE product_co_occurrence_state;
@@ -0,0 +1,19 @@
+-- Full-text and trigram search support for products
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE; generated columns and index expressions need an IMMUTABLE wrapper
+CREATE OR REPLACE FUNCTION immutable_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$;
+
+ALTER TABLE products
+ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', immutable_unaccent(coalesce(title, ''))), 'A') ||
+    setweight(to_tsvector('simple', immutable_unaccent(coalesce(description, ''))), 'B')
+) STORED;
+
+-- Create indexes for full-text, substring and fuzzy matches
+CREATE INDEX idx_products_search_vector ON products USING GIN (search_vector);
+CREATE INDEX idx_products_title_trgm ON products USING GIN (lower(immutable_unaccent(title)) gin_trgm_ops);
+CREATE INDEX idx_products_description_trgm ON products USING GIN (lower(immutable_unaccent(coalesce(description, ''))) gin_trgm_ops);
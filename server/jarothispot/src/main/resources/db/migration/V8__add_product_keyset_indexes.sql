@@ -0,0 +1,3 @@
+-- Composite indexes for keyset (cursor) pagination of the product listing
+CREATE INDEX idx_products_active_title_id ON products(active, title, id);
+CREATE INDEX idx_products_active_price_id ON products(active, price, id);
@@ -0,0 +1,6 @@
+-- Checksum of the bundled seed files last applied, so warm starts can skip seeding
+CREATE TABLE seed_state (
+    name VARCHAR(100) PRIMARY KEY,
+    checksum VARCHAR(64) NOT NULL,
+    applied_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
@@ -0,0 +1,83 @@
+package com.jarothi.spot.jarothispot.catalog.bestseller;
+
+import com.jarothi.spot.jarothispot.catalog.ProductType;
+import com.jarothi.spot.jarothispot.catalog.CategoryType;
+import com.jarothi.spot.jarothispot.catalog.dto.CategoryDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTO;
+import com.jarothi.spot.jarothispot.common.Money;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalesWindowsTest {
+
+    private static final long NOW = 500_000;
+
+    private static final CategoryDTO SCI_FI = new CategoryDTO(UUID.randomUUID(), "Sci Fi", "#22c55e", CategoryType.GENRE_BOOK);
+    private static final ProductDTO SNOW_CRASH = product("Snow Crash", true, SCI_FI);
+    private static final ProductDTO SOLARIS = product("Solaris", true, SCI_FI);
+    private static final ProductDTO AKIRA = product("Akira", true);
+    private static final ProductDTO RETIRED = product("Retired", false, SCI_FI);
+
+    private final SalesWindows sales = new SalesWindows(NOW);
+
+    @Test
+    void add_countsSalesInEveryWindowContainingTheHour() {
+        sales.add(NOW, SNOW_CRASH.id(), 2);
+        sales.add(NOW - 30, SNOW_CRASH.id(), 3);
+        sales.add(NOW - 200, SNOW_CRASH.id(), 5);
+        sales.add(NOW - 720, SNOW_CRASH.id(), 7);
+
+        assertThat(sales.totals(BestsellerWindow.DAY)).containsEntry(SNOW_CRASH.id(), 2L);
+        assertThat(sales.totals(BestsellerWindow.WEEK)).containsEntry(SNOW_CRASH.id(), 5L);
+        assertThat(sales.totals(BestsellerWindow.MONTH)).containsEntry(SNOW_CRASH.id(), 10L);
+    }
+
+    @Test
+    void advanceTo_evictsBucketsThatSlideOutOfEachWindow() {
+        sales.add(NOW - 23, SNOW_CRASH.id(), 4);
+        sales.add(NOW, SOLARIS.id(), 1);
+
+        sales.advanceTo(NOW + 1);
+        assertThat(sales.totals(BestsellerWindow.DAY)).containsOnlyKeys(SOLARIS.id());
+        assertThat(sales.totals(BestsellerWindow.WEEK)).containsEntry(SNOW_CRASH.id(), 4L);
+
+        sales.advanceTo(NOW + 30 * 24);
+        assertThat(sales.totals(BestsellerWindow.MONTH)).isEmpty();
+    }
+
+    @Test
+    void add_inALaterHourMovesTheClock() {
+        sales.add(NOW - 23, SNOW_CRASH.id(), 4);
+        sales.add(NOW + 2, SOLARIS.id(), 1);
+
+        assertThat(sales.currentHour()).isEqualTo(NOW + 2);
+        assertThat(sales.totals(BestsellerWindow.DAY)).containsOnlyKeys(SOLARIS.id());
+    }
+
+    @Test
+    void rankings_orderByUnitsAndSkipInactiveProducts() {
+        sales.add(NOW, SNOW_CRASH.id(), 2);
+        sales.add(NOW, SOLARIS.id(), 5);
+        sales.add(NOW, AKIRA.id(), 3);
+        sales.add(NOW, RETIRED.id(), 9);
+        Map<UUID, ProductDTO> products = Map.of(SNOW_CRASH.id(), SNOW_CRASH, SOLARIS.id(), SOLARIS,
+            AKIRA.id(), AKIRA, RETIRED.id(), RETIRED);
+
+        BestsellerRankings rankings = BestsellerRankings.of(sales, products, 2);
+
+        assertThat(rankings.top(BestsellerWindow.DAY, null, 10)).containsExactly(SOLARIS, AKIRA);
+        assertThat(rankings.top(BestsellerWindow.DAY, SCI_FI.id(), 10)).containsExactly(SOLARIS, SNOW_CRASH);
+        assertThat(rankings.top(BestsellerWindow.DAY, null, 1)).containsExactly(SOLARIS);
+        assertThat(rankings.top(BestsellerWindow.DAY, UUID.randomUUID(), 10)).isEmpty();
+    }
+
+    private static ProductDTO product(String title, boolean active, CategoryDTO... categories) {
+        return new ProductDTO(UUID.randomUUID(), ProductType.BOOK, title, null, Money.parse("9.99"), null,
+            active, List.of(categories));
+    }
+}
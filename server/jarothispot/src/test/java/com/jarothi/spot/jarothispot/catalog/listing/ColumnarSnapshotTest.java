@@ -0,0 +1,127 @@
+package com.jarothi.spot.jarothispot.catalog.listing;
+
+import com.jarothi.spot.jarothispot.catalog.CategoryType;
+import com.jarothi.spot.jarothispot.catalog.ProductType;
+import com.jarothi.spot.jarothispot.catalog.dto.CategoryDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.ProductFilterDTO;
+import com.jarothi.spot.jarothispot.common.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarSnapshotTest {
+
+    private static final CategoryDTO CYBERPUNK = new CategoryDTO(UUID.randomUUID(), "Cyberpunk", "#f59e0b", CategoryType.GENRE_BOOK);
+    private static final CategoryDTO NOVELA = new CategoryDTO(UUID.randomUUID(), "Novela", "#10b981", CategoryType.GENRE_BOOK);
+
+    private static final ProductDTO NEUROMANCER = book("Neuromancer", "15.99", true, CYBERPUNK);
+    private static final ProductDTO SNOW_CRASH = book("Snow Crash", "17.50", true, CYBERPUNK, NOVELA);
+    private static final ProductDTO DUNE = book("Dune", "19.99", true, NOVELA);
+    private static final ProductDTO RETIRED = book("Akira", "9.50", false, CYBERPUNK);
+
+    private final ColumnarSnapshot snapshot = ColumnarSnapshot.of(List.of(NEUROMANCER, SNOW_CRASH, DUNE, RETIRED));
+
+    @Test
+    void match_intersectsActiveCategoryAndPriceRange() {
+        BitSet matches = snapshot.match(filter(CYBERPUNK.id(), "16", null), null);
+
+        assertThat(snapshot.page(matches, Sort.by("title"), 0, 10)).containsExactly(SNOW_CRASH);
+        assertThat(matches.cardinality()).isEqualTo(1);
+    }
+
+    @Test
+    void match_priceBoundsAreInclusive() {
+        BitSet matches = snapshot.match(filter(null, "15.99", "17.5"), null);
+
+        assertThat(snapshot.page(matches, Sort.by("price"), 0, 10)).containsExactly(NEUROMANCER, SNOW_CRASH);
+    }
+
+    @Test
+    void page_walksSortOrderWithOffsetAndLimit() {
+        BitSet matches = snapshot.match(filter(null, null, null), null);
+
+        assertThat(snapshot.page(matches, Sort.by("price").descending(), 0, 2)).containsExactly(DUNE, SNOW_CRASH);
+        assertThat(snapshot.page(matches, Sort.by("title"), 1, 5)).containsExactly(NEUROMANCER, SNOW_CRASH);
+        assertThat(ColumnarSnapshot.supports(Sort.by("stock"))).isFalse();
+    }
+
+    @Test
+    void match_restrictsToTextMatchesAndWithReplacesRows() {
+        ProductDTO cheaperDune = new ProductDTO(DUNE.id(), ProductType.BOOK, "Dune", null,
+            Money.parse("5.00"), null, true, List.of(NOVELA));
+        ColumnarSnapshot updated = snapshot.with(DUNE.id(), cheaperDune).with(SNOW_CRASH.id(), null);
+
+        BitSet matches = updated.match(filter(null, null, "10"), List.of(DUNE.id(), SNOW_CRASH.id()));
+
+        assertThat(updated.page(matches, Sort.unsorted(), 0, 10)).containsExactly(cheaperDune);
+        assertThat(updated.size()).isEqualTo(3);
+    }
+
+    @Test
+    void page_sortsTitlesInCodePointOrderLikeTheCCollation() {
+        ProductDTO lowercase = book("akira", "1.00", true);
+        ProductDTO accented = book("Émile", "1.00", true);
+        ColumnarSnapshot titles = ColumnarSnapshot.of(List.of(lowercase, accented, DUNE, NEUROMANCER));
+
+        BitSet matches = titles.match(filter(null, null, null), null);
+
+        assertThat(titles.page(matches, Sort.by("title"), 0, 10)).containsExactly(DUNE, NEUROMANCER, lowercase, accented);
+    }
+
+    @Test
+    void with_keepsTheSameIndexesAsAFullBuild() {
+        Random random = new Random(42);
+        List<CategoryDTO> categories = List.of(CYBERPUNK, NOVELA);
+        Map<UUID, ProductDTO> products = new LinkedHashMap<>();
+        ColumnarSnapshot incremental = ColumnarSnapshot.of(List.of());
+
+        for (int i = 0; i < 400; i++) {
+            List<UUID> ids = new ArrayList<>(products.keySet());
+            UUID id = ids.isEmpty() || random.nextInt(3) == 0 ? UUID.randomUUID() : ids.get(random.nextInt(ids.size()));
+            ProductDTO product = random.nextInt(5) == 0 ? null : new ProductDTO(id, ProductType.BOOK,
+                "Title " + random.nextInt(50), null, Money.parse(random.nextInt(30) + ".99"), null,
+                random.nextInt(4) > 0, random.nextBoolean() ? List.of(categories.get(random.nextInt(2))) : List.of());
+            if (product == null) {
+                products.remove(id);
+            } else {
+                products.put(id, product);
+            }
+            incremental = incremental.with(id, product);
+        }
+
+        ColumnarSnapshot rebuilt = ColumnarSnapshot.of(products.values());
+        assertThat(incremental.size()).isEqualTo(rebuilt.size());
+        for (ProductFilterDTO filter : List.of(filter(null, null, null), filter(CYBERPUNK.id(), "10", "20"),
+                new ProductFilterDTO(null, NOVELA.id(), null, null, null, null, false))) {
+            BitSet expected = rebuilt.match(filter, null);
+            BitSet actual = incremental.match(filter, null);
+            assertThat(actual.cardinality()).isEqualTo(expected.cardinality());
+            for (Sort sort : List.of(Sort.by("title"), Sort.by("price").descending())) {
+                assertThat(incremental.page(actual, sort, 0, 500)).isEqualTo(rebuilt.page(expected, sort, 0, 500));
+            }
+        }
+    }
+
+    private static ProductFilterDTO filter(UUID categoryId, String minPrice, String maxPrice) {
+        return new ProductFilterDTO(null, categoryId, null, null,
+            minPrice != null ? new BigDecimal(minPrice) : null,
+            maxPrice != null ? new BigDecimal(maxPrice) : null,
+            true);
+    }
+
+    private static ProductDTO book(String title, String price, boolean active, CategoryDTO... categories) {
+        return new ProductDTO(UUID.randomUUID(), ProductType.BOOK, title, null,
+            Money.parse(price), null, active, List.of(categories));
+    }
+}
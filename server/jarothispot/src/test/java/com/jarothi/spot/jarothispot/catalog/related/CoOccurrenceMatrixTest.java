@@ -0,0 +1,82 @@
+package com.jarothi.spot.jarothispot.catalog.related;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoOccurrenceMatrixTest {
+
+    private static final UUID BOOK = UUID.randomUUID();
+    private static final UUID SEQUEL = UUID.randomUUID();
+    private static final UUID BOOKMARK = UUID.randomUUID();
+    private static final UUID POSTER = UUID.randomUUID();
+
+    private final CoOccurrenceMatrix matrix = new CoOccurrenceMatrix(2);
+
+    @Test
+    void addOrder_countsEveryPairInBothDirections() {
+        matrix.addOrder(List.of(BOOK, SEQUEL, BOOKMARK));
+        matrix.addOrder(List.of(BOOK, SEQUEL));
+
+        assertThat(matrix.count(BOOK, SEQUEL)).isEqualTo(2);
+        assertThat(matrix.count(SEQUEL, BOOK)).isEqualTo(2);
+        assertThat(matrix.count(BOOKMARK, BOOK)).isEqualTo(1);
+        assertThat(matrix.related(BOOK)).containsExactly(SEQUEL, BOOKMARK);
+    }
+
+    @Test
+    void addOrder_keepsOnlyTheTopKMostFrequent() {
+        matrix.addOrder(List.of(BOOK, BOOKMARK));
+        matrix.addOrder(List.of(BOOK, SEQUEL));
+        matrix.addOrder(List.of(BOOK, POSTER));
+        matrix.addOrder(List.of(BOOK, POSTER));
+
+        assertThat(matrix.related(BOOK)).containsExactly(POSTER, BOOKMARK);
+
+        matrix.addOrder(List.of(BOOK, SEQUEL));
+        matrix.addOrder(List.of(BOOK, SEQUEL));
+        assertThat(matrix.related(BOOK)).containsExactly(SEQUEL, POSTER);
+    }
+
+    @Test
+    void addOrder_ignoresSingleProductOrdersAndDuplicates() {
+        assertThat(matrix.addOrder(List.of(BOOK, BOOK))).isEmpty();
+        assertThat(matrix.related(BOOK)).isEmpty();
+    }
+
+    @Test
+    void countPairs_visitsEachPairOnceAndRestoreRebuildsThem() {
+        List<Object[]> rows = new ArrayList<>();
+        CoOccurrenceMatrix.countPairs(List.of(List.of(BOOK, SEQUEL, BOOKMARK), List.of(BOOK, SEQUEL, SEQUEL)),
+            (productId, relatedId, count) -> rows.add(new Object[]{productId, relatedId, count}));
+        assertThat(rows).hasSize(6);
+        assertThat(rows).filteredOn(row -> row[0].equals(SEQUEL) && row[1].equals(BOOK))
+            .singleElement().satisfies(row -> assertThat(row[2]).isEqualTo(2));
+
+        CoOccurrenceMatrix restored = new CoOccurrenceMatrix(2);
+        rows.forEach(row -> restored.restore((UUID) row[0], (UUID) row[1], (Integer) row[2]));
+        assertThat(restored.related(BOOK)).containsExactly(SEQUEL, BOOKMARK);
+        assertThat(restored.count(SEQUEL, BOOK)).isEqualTo(2);
+    }
+
+    @Test
+    void intCountMap_growsWithoutLosingCounts() {
+        IntCountMap counts = new IntCountMap();
+        for (int key = 0; key < 1000; key++) {
+            counts.add(key, key);
+            counts.add(key, 1);
+        }
+
+        Map<Integer, Integer> visited = new HashMap<>();
+        counts.forEach(visited::put);
+        assertThat(counts.size()).isEqualTo(1000);
+        assertThat(visited).hasSize(1000).containsEntry(0, 1).containsEntry(999, 1000);
+        assertThat(counts.get(1000)).isZero();
+    }
+}
@@ -0,0 +1,90 @@
+package com.jarothi.spot.jarothispot.catalog.search;
+
+import com.jarothi.spot.jarothispot.catalog.ProductRepository;
+import com.jarothi.spot.jarothispot.catalog.event.ProductChangedEvent;
+import com.jarothi.spot.jarothispot.catalog.event.ProductChangedEvent.ChangeType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InvertedIndexSearchEngineTest {
+
+    private static final UUID NEUROMANCER = UUID.randomUUID();
+    private static final UUID DUNE = UUID.randomUUID();
+    private static final UUID SOFIA = UUID.randomUUID();
+    private static final UUID HERBERT = UUID.randomUUID();
+
+    private ProductRepository productRepository;
+    private InvertedIndexSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findActiveSearchDocuments()).thenReturn(List.of(
+            new SearchDocument(NEUROMANCER, "Neuromancer", "Un clásico del ciberpunk sobre hackers, IA y megacorporaciones."),
+            new SearchDocument(DUNE, "Dune", "Intriga política y ecológica en Arrakis."),
+            new SearchDocument(SOFIA, "El mundo de Sofía", "Introducción a la filosofía a través de una novela."),
+            new SearchDocument(HERBERT, "Frank Herbert", "Biografía del autor de Dune.")
+        ));
+        engine = new InvertedIndexSearchEngine(productRepository, mock(EntityManager.class));
+        engine.rebuild();
+    }
+
+    @Test
+    void search_matchesAccentInsensitiveAndByPrefix() {
+        assertThat(engine.search("filosofia", 10)).containsExactly(SOFIA);
+        assertThat(engine.search("ciber", 10)).containsExactly(NEUROMANCER);
+        assertThat(engine.search("POLÍTICA arr", 10)).containsExactly(DUNE);
+    }
+
+    @Test
+    void search_requiresEveryTerm() {
+        assertThat(engine.search("mundo novela", 10)).containsExactly(SOFIA);
+        assertThat(engine.search("dune hackers", 10)).isEmpty();
+        assertThat(engine.search("", 10)).isEmpty();
+    }
+
+    @Test
+    void search_ranksTitleMatchesAboveDescriptionMatches() {
+        assertThat(engine.search("dune", 10)).containsExactly(DUNE, HERBERT);
+        assertThat(engine.search("herbert", 10)).containsExactly(HERBERT);
+        assertThat(engine.search("dune", 1)).containsExactly(DUNE);
+    }
+
+    @Test
+    void onProductChanged_updatesAndRemovesDocuments() {
+        when(productRepository.findActiveSearchDocumentById(DUNE))
+            .thenReturn(Optional.of(new SearchDocument(DUNE, "Dune Messiah", "Secuela de Dune.")));
+        engine.onProductChanged(new ProductChangedEvent(DUNE, ChangeType.UPDATED));
+        assertThat(engine.search("messiah", 10)).containsExactly(DUNE);
+        assertThat(engine.search("arrakis", 10)).isEmpty();
+
+        engine.onProductChanged(new ProductChangedEvent(DUNE, ChangeType.DELETED));
+        assertThat(engine.search("dune", 10)).containsExactly(HERBERT);
+    }
+
+    @Test
+    void rebuild_reindexesProductsChangedWhileReading() {
+        SearchDocument messiah = new SearchDocument(DUNE, "Dune Messiah", "Secuela de Dune.");
+        when(productRepository.findActiveSearchDocumentById(DUNE)).thenReturn(Optional.of(messiah));
+        // The change commits and is applied to the old index while the rebuild is still reading
+        when(productRepository.findActiveSearchDocuments()).thenAnswer(invocation -> {
+            List<SearchDocument> stale = List.of(new SearchDocument(DUNE, "Dune", "Intriga política y ecológica en Arrakis."));
+            engine.onProductChanged(new ProductChangedEvent(DUNE, ChangeType.UPDATED));
+            return stale;
+        });
+
+        engine.rebuild();
+
+        assertThat(engine.search("messiah", 10)).containsExactly(DUNE);
+        assertThat(engine.search("arrakis", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,89 @@
+package com.jarothi.spot.jarothispot.catalog.search;
+
+import com.jarothi.spot.jarothispot.catalog.dto.SuggestionDTO;
+import com.jarothi.spot.jarothispot.catalog.dto.SuggestionDTO.Type;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+
+    private static final SuggestionDTO SNOW_CRASH = product("Snow Crash");
+    private static final SuggestionDTO SOFIA = product("El mundo de Sofía");
+    private static final SuggestionDTO SOLARIS = product("Solaris");
+    private static final SuggestionDTO SCI_FI = new SuggestionDTO("Sci Fi", Type.CATEGORY, UUID.randomUUID());
+
+    private final SuggestionTrie trie = SuggestionTrie.build(List.of(
+        new SuggestionTrie.Entry(SNOW_CRASH, 5),
+        new SuggestionTrie.Entry(SOFIA, 2),
+        new SuggestionTrie.Entry(SOLARIS, 9),
+        new SuggestionTrie.Entry(SCI_FI, 4)
+    ), 3);
+
+    @Test
+    void suggest_ranksCompletionsByPopularity() {
+        assertThat(trie.suggest("s", 10)).containsExactly(SOLARIS, SNOW_CRASH, SCI_FI);
+        assertThat(trie.suggest("so", 10)).containsExactly(SOLARIS, SOFIA);
+    }
+
+    @Test
+    void suggest_matchesWordStartsAccentInsensitive() {
+        assertThat(trie.suggest("CRA", 10)).containsExactly(SNOW_CRASH);
+        assertThat(trie.suggest("sofia", 10)).containsExactly(SOFIA);
+        assertThat(trie.suggest("mundo de so", 10)).containsExactly(SOFIA);
+    }
+
+    @Test
+    void suggest_returnsNothingForUnknownOrBlankPrefix() {
+        assertThat(trie.suggest("xyz", 10)).isEmpty();
+        assertThat(trie.suggest("snowy", 10)).isEmpty();
+        assertThat(trie.suggest("  ", 10)).isEmpty();
+        assertThat(SuggestionTrie.empty().suggest("s", 10)).isEmpty();
+    }
+
+    @Test
+    void replace_updatesRankingsLikeAFullBuild() {
+        SuggestionDTO sonata = product("Sonata de otoño");
+        SuggestionTrie.Entry snowCrash = new SuggestionTrie.Entry(SNOW_CRASH, 5);
+        SuggestionTrie.Entry solaris = new SuggestionTrie.Entry(SOLARIS, 9);
+
+        SuggestionTrie updated = trie
+            .replace(snowCrash, new SuggestionTrie.Entry(SNOW_CRASH, 12))
+            .replace(null, new SuggestionTrie.Entry(sonata, 7))
+            .replace(solaris, null);
+        SuggestionTrie rebuilt = SuggestionTrie.build(List.of(
+            new SuggestionTrie.Entry(SNOW_CRASH, 12),
+            new SuggestionTrie.Entry(SOFIA, 2),
+            new SuggestionTrie.Entry(sonata, 7),
+            new SuggestionTrie.Entry(SCI_FI, 4)
+        ), 3);
+
+        assertThat(updated.size()).isEqualTo(4);
+        for (String prefix : List.of("s", "so", "son", "sol", "crash", "otono", "mundo", "sci")) {
+            assertThat(updated.suggest(prefix, 10)).as(prefix).isEqualTo(rebuilt.suggest(prefix, 10));
+        }
+        assertThat(updated.suggest("s", 10)).containsExactly(SNOW_CRASH, sonata, SCI_FI);
+        assertThat(updated.suggest("sol", 10)).isEmpty();
+        assertThat(trie.suggest("sol", 10)).containsExactly(SOLARIS);
+    }
+
+    @Test
+    void replace_emptiesAndRefillsTheTrie() {
+        SuggestionTrie single = SuggestionTrie.build(List.of(), 3)
+            .replace(null, new SuggestionTrie.Entry(SOLARIS, 1));
+        assertThat(single.suggest("so", 10)).containsExactly(SOLARIS);
+
+        SuggestionTrie emptied = single.replace(new SuggestionTrie.Entry(SOLARIS, 1), null);
+        assertThat(emptied.size()).isZero();
+        assertThat(emptied.suggest("so", 10)).isEmpty();
+        assertThat(emptied.replace(null, new SuggestionTrie.Entry(SOFIA, 1)).suggest("so", 10))
+            .containsExactly(SOFIA);
+    }
+
+    private static SuggestionDTO product(String title) {
+        return new SuggestionDTO(title, Type.PRODUCT, UUID.randomUUID());
+    }
+}
@@ -0,0 +1,45 @@
+package com.jarothi.spot.jarothispot.catalog.stream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeRingTest {
+
+    private final ChangeRing<String> ring = new ChangeRing<>(4, 100);
+
+    @Test
+    void readFrom_returnsEntriesInOrderUpToMax() {
+        ring.append("a");
+        ring.append("b");
+        ring.append("c");
+
+        assertThat(ring.readFrom(100, 2)).extracting(ChangeRing.Entry::value).containsExactly("a", "b");
+        assertThat(ring.readFrom(102, 10)).extracting(ChangeRing.Entry::sequence).containsExactly(102L);
+        assertThat(ring.readFrom(103, 10)).isEmpty();
+        assertThat(ring.next()).isEqualTo(103);
+    }
+
+    @Test
+    void readFrom_detectsOverwrittenEntries() {
+        for (int i = 0; i < 6; i++) {
+            ring.append("change " + i);
+        }
+
+        assertThat(ring.readFrom(101, 10)).isNull();
+        assertThat(ring.readFrom(102, 10)).extracting(ChangeRing.Entry::value)
+            .containsExactly("change 2", "change 3", "change 4", "change 5");
+    }
+
+    @Test
+    void isAvailable_coversTheBufferedSequencesAndTheNextOne() {
+        for (int i = 0; i < 6; i++) {
+            ring.append("change " + i);
+        }
+
+        assertThat(ring.isAvailable(101)).isFalse();
+        assertThat(ring.isAvailable(102)).isTrue();
+        assertThat(ring.isAvailable(106)).isTrue();
+        assertThat(ring.isAvailable(107)).isFalse();
+    }
+}
@@ -0,0 +1,68 @@
+package com.jarothi.spot.jarothispot.common;
+
+import com.jarothi.spot.jarothispot.catalog.Book;
+import com.jarothi.spot.jarothispot.catalog.Category;
+import com.jarothi.spot.jarothispot.catalog.CategoryType;
+import com.jarothi.spot.jarothispot.catalog.Product;
+import com.jarothi.spot.jarothispot.catalog.ProductSpecifications;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.domain.Specification;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Against PostgreSQL, since specifications with their own subqueries, like
+ * {@link ProductSpecifications#hasCategoryId}, are nested inside the capped query
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Import(CappedCounter.class)
+class CappedCounterTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+    @Autowired
+    private CappedCounter cappedCounter;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void countUpTo_stopsAfterTheCapWithinACategory() {
+        Category manga = entityManager.persist(new Category("Manga", CategoryType.GENRE_BOOK, "#ef4444"));
+        Category essay = entityManager.persist(new Category("Ensayo", CategoryType.GENRE_BOOK, "#3b82f6"));
+        for (int i = 1; i <= 5; i++) {
+            Book volume = new Book("Akira Vol. " + i, "Tokio, 2019.", Money.parse("12.50"));
+            volume.addCategory(manga);
+            entityManager.persist(volume);
+        }
+        Book sofia = new Book("El mundo de Sofía", "Introducción a la filosofía.", Money.parse("18.90"));
+        sofia.addCategory(essay);
+        entityManager.persist(sofia);
+        entityManager.flush();
+
+        Specification<Product> inManga = ProductSpecifications.hasCategoryId(manga.getId());
+
+        assertThat(cappedCounter.countUpTo(Product.class, inManga, 10)).isEqualTo(5);
+        assertThat(cappedCounter.countUpTo(Product.class, inManga, 3)).isEqualTo(4);
+        assertThat(cappedCounter.countUpTo(Product.class,
+            inManga.and(ProductSpecifications.hasMinPrice(BigDecimal.TEN)), 10)).isEqualTo(5);
+        assertThat(cappedCounter.countUpTo(Product.class, ProductSpecifications.hasCategoryId(essay.getId()), 10))
+            .isEqualTo(1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.jarothi.spot.jarothispot.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cart subtotal over n line items: the previous BigDecimal multiply/reduce path, a Money per
+ * line, and the cents loop the cart and checkout use, which should report 0 B/op under -prof gc.
+ *
+ * Not run by the test suite; start it with main() from the test classpath, or
+ * java -cp target/test-classes:... org.openjdk.jmh.Main MoneyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class MoneyBenchmark {
+
+    @Param({"5", "50"})
+    private int lines;
+
+    private BigDecimal[] decimalPrices;
+    private Money[] moneyPrices;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        decimalPrices = new BigDecimal[lines];
+        moneyPrices = new Money[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            long cents = 100 + random.nextInt(10_000);
+            decimalPrices[i] = BigDecimal.valueOf(cents, Money.SCALE);
+            moneyPrices[i] = Money.ofMinor(cents);
+            quantities[i] = 1 + random.nextInt(5);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        return IntStream.range(0, lines)
+            .mapToObj(i -> decimalPrices[i].multiply(BigDecimal.valueOf(quantities[i])))
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public Money money() {
+        Money subtotal = Money.ZERO;
+        for (int i = 0; i < lines; i++) {
+            subtotal = subtotal.plus(moneyPrices[i].times(quantities[i]));
+        }
+        return subtotal;
+    }
+
+    @Benchmark
+    public Money minorUnits() {
+        long subtotal = 0;
+        for (int i = 0; i < lines; i++) {
+            subtotal = Math.addExact(subtotal, Math.multiplyExact(moneyPrices[i].minorUnits(), quantities[i]));
+        }
+        return Money.ofMinor(subtotal);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(MoneyBenchmark.class.getSimpleName())
+            .addProfiler("gc")
+            .build()).run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.jarothi.spot.jarothispot.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void arithmetic_staysInMinorUnits() {
+        Money price = Money.parse("19.99");
+
+        assertThat(price.minorUnits()).isEqualTo(1999);
+        assertThat(price.times(3)).isEqualTo(Money.ofMinor(5997));
+        assertThat(price.plus(Money.parse("0.01"))).isEqualTo(Money.parse("20"));
+        assertThat(Money.ZERO.minus(price).signum()).isEqualTo(-1);
+    }
+
+    @Test
+    void arithmetic_throwsInsteadOfOverflowing() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> max.plus(Money.ofMinor(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> max.times(2)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void centsTotalsLoop_allocatesNothing() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Money[] prices = {Money.parse("19.99"), Money.parse("5.25"), Money.parse("0.99")};
+        int[] quantities = {3, 1, 12};
+        long expected = subtotal(prices, quantities);
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        long sum = 0;
+        for (int i = 0; i < 10_000; i++) {
+            sum += subtotal(prices, quantities);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(sum).isEqualTo(expected * 10_000);
+        assertThat(allocated).isZero();
+    }
+
+    @Test
+    void of_rejectsMoreThanTwoDecimals() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1.005"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.parse("abc")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(Money.of(new BigDecimal("1.005"), RoundingMode.CEILING)).isEqualTo(Money.parse("1.01"));
+        assertThat(Money.of(new BigDecimal("1.005"), RoundingMode.FLOOR)).isEqualTo(Money.parse("1.00"));
+    }
+
+    @Test
+    void json_isAPlainDecimalNumber() throws Exception {
+        assertThat(objectMapper.writeValueAsString(Money.parse("19.9"))).isEqualTo("19.90");
+        assertThat(objectMapper.readValue("7.25", Money.class)).isEqualTo(Money.ofMinor(725));
+        assertThat(Money.ofMinor(5).toString()).isEqualTo("0.05");
+    }
+
+    // Same loop as the cart subtotal and the checkout total
+    private static long subtotal(Money[] prices, int[] quantities) {
+        long subtotal = 0;
+        for (int i = 0; i < prices.length; i++) {
+            subtotal = Math.addExact(subtotal, Math.multiplyExact(prices[i].minorUnits(), quantities[i]));
+        }
+        return subtotal;
+    }
+}
@@ -0,0 +1,138 @@
+package com.jarothi.spot.jarothispot.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput and primary key index size of random (v4) against time-ordered (v7)
+ * UUID keys, on a table shaped like order_items in a local PostgreSQL.
+ *
+ * Each trial creates its own table, preloads preloadRows rows and then inserts batches of
+ * BATCH_SIZE rows, one transaction per batch; the score is rows per second. The table and
+ * index sizes are printed at the end of the trial. The difference grows once the index no
+ * longer fits in shared_buffers, so raise preloadRows to see it on larger memory settings.
+ *
+ * Not run by the test suite; start it with main() from the test classpath, or
+ * java -cp target/test-classes:... org.openjdk.jmh.Main UuidInsertBenchmark, against
+ * -Dbench.jdbc.url (default the application database), -Dbench.jdbc.user, -Dbench.jdbc.password.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT = """
+        INSERT INTO %s (id, order_id, product_id, quantity, unit_price_snapshot) VALUES (?, ?, ?, ?, ?)
+        """;
+
+    @Param({"v4", "v7"})
+    private String version;
+
+    @Param({"1000000"})
+    private int preloadRows;
+
+    private IdGenerator generator;
+    private String table;
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup
+    public void setUp() throws SQLException {
+        generator = "v7".equals(version) ? new UuidV7Generator() : IdGenerator.RANDOM;
+        table = "bench_uuid_" + version;
+        connection = DriverManager.getConnection(
+            System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/jarothi?reWriteBatchedInserts=true"),
+            System.getProperty("bench.jdbc.user", "postgres"),
+            System.getProperty("bench.jdbc.password", "postgrespass"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, order_id uuid NOT NULL, "
+                + "product_id uuid NOT NULL, quantity integer NOT NULL, unit_price_snapshot numeric(10,2) NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(INSERT.formatted(table));
+        for (int loaded = 0; loaded < preloadRows; loaded += BATCH_SIZE) {
+            insertBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            statement.execute("VACUUM ANALYZE " + table);
+            statement.execute("CHECKPOINT");
+            connection.setAutoCommit(false);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insert() throws SQLException {
+        insertBatch();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement();
+             ResultSet sizes = statement.executeQuery("SELECT count(*), pg_relation_size('" + table + "'), "
+                 + "pg_relation_size('" + table + "_pkey') FROM " + table)) {
+            sizes.next();
+            long rows = sizes.getLong(1);
+            long indexBytes = sizes.getLong(3);
+            System.out.printf("%n%s: %,d rows, table %,d KiB, primary key index %,d KiB (%.1f bytes per row)%n",
+                version, rows, sizes.getLong(2) / 1024, indexBytes / 1024, (double) indexBytes / rows);
+            statement.execute("DROP TABLE " + table);
+        } finally {
+            connection.close();
+        }
+    }
+
+    private void insertBatch() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID orderId = generator.next();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, generator.next());
+            insert.setObject(2, orderId);
+            insert.setObject(3, new UUID(random.nextLong(), random.nextLong()));
+            insert.setInt(4, 1 + random.nextInt(5));
+            insert.setBigDecimal(5, BigDecimal.valueOf(100 + random.nextInt(10_000), Money.SCALE));
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(UuidInsertBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,65 @@
+package com.jarothi.spot.jarothispot.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidV7GeneratorTest {
+
+    private static final long NOW = 1_790_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private final UuidV7Generator generator = new UuidV7Generator(clock::get);
+
+    @Test
+    void next_setsVersionVariantAndTimestamp() {
+        UUID id = generator.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(UuidV7Generator.timestamp(id)).isEqualTo(NOW);
+    }
+
+    @Test
+    void next_increasesWithinTheSameMillisecondAndCarriesIntoTheTimestamp() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            ids.add(generator.next());
+        }
+
+        assertThat(ids).isSortedAccordingTo(UuidV7GeneratorTest::compareUnsigned);
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+        // 4096 keys per millisecond, then the timestamp runs ahead of the clock
+        assertThat(UuidV7Generator.timestamp(ids.get(4095))).isEqualTo(NOW);
+        assertThat(UuidV7Generator.timestamp(ids.get(4096))).isEqualTo(NOW + 1);
+    }
+
+    @Test
+    void next_staysIncreasingWhenTheClockStepsBack() {
+        UUID before = generator.next();
+        clock.set(NOW - 10_000);
+        UUID after = generator.next();
+
+        assertThat(compareUnsigned(before, after)).isNegative();
+        assertThat(UuidV7Generator.timestamp(after)).isEqualTo(NOW);
+    }
+
+    @Test
+    void timestamp_rejectsOtherVersions() {
+        assertThatThrownBy(() -> UuidV7Generator.timestamp(UUID.randomUUID()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Byte order, as PostgreSQL compares uuid values; UUID.compareTo uses signed longs
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,39 @@
+package com.jarothi.spot.jarothispot.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class DataSourceRoutingConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(DataSourceRoutingConfig.class);
+
+    @Test
+    void routing_isSkippedWithoutReplicaUrls() {
+        contextRunner
+            .run(context -> assertThat(context).doesNotHaveBean(ReplicaSet.class));
+        contextRunner.withPropertyValues("datasource.routing.replica-urls=")
+            .run(context -> assertThat(context).doesNotHaveBean(ReplicaSet.class));
+        contextRunner.withPropertyValues("datasource.routing.replica-urls= , ")
+            .run(context -> assertThat(context).doesNotHaveBean(ReplicaSet.class));
+    }
+
+    @Test
+    void choose_returnsNoReplicaWhenNoneIsConfigured() {
+        DataSourceRoutingProperties properties = new DataSourceRoutingProperties();
+        properties.setReplicaUrls(List.of(" "));
+        ReplicaSet replicaSet = new ReplicaSet(mock(DataSource.class), new DataSourceProperties(),
+            properties, new SimpleMeterRegistry());
+
+        assertThat(replicaSet.getReplicas()).isEmpty();
+        assertThat(replicaSet.choose()).isNull();
+    }
+}
@@ -0,0 +1,119 @@
+package com.jarothi.spot.jarothispot.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routing through the same data source chain as {@link DataSourceRoutingConfig}, with mocked
+ * primary and replica pools recording which one handed out each connection
+ */
+class ReadRoutingTest {
+
+    private final List<String> connections = new ArrayList<>();
+    private DataSource dataSource;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readTransaction;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource primary = pool("primary");
+        DataSource replicaPool = pool("replica");
+        ReplicaSet.Replica replica = mock(ReplicaSet.Replica.class);
+        when(replica.getName()).thenReturn("replica-1");
+        when(replica.getDataSource()).thenReturn(replicaPool);
+        ReplicaSet replicaSet = mock(ReplicaSet.class);
+        when(replicaSet.getReplicas()).thenReturn(List.of(replica));
+        when(replicaSet.choose()).thenReturn(replica);
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primary));
+        proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicaSet));
+        // Otherwise the proxy reads them from a first primary connection
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource = proxy;
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Test
+    void readOnlyTransactions_useTheReplicaUnlessPinned() {
+        read();
+        ReadRouting.onPrimary(this::read);
+
+        assertThat(connections).containsExactly("replica", "primary");
+        assertThat(ReadRouting.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void afterCommitReads_usePrimaryUntilTheLastListenerHasRun() {
+        writeTransaction.executeWithoutResult(status -> {
+            statement();
+            // Like an unordered @TransactionalEventListener published after the first write
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int completionStatus) {
+                    read();
+                }
+            });
+        });
+        read();
+
+        assertThat(connections).containsExactly("primary", "primary", "replica");
+        assertThat(ReadRouting.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void rolledBackWrites_doNotPin() {
+        writeTransaction.executeWithoutResult(status -> {
+            statement();
+            status.setRollbackOnly();
+        });
+        read();
+
+        assertThat(connections).containsExactly("primary", "replica");
+        assertThat(ReadRouting.isPinnedToPrimary()).isFalse();
+    }
+
+    private void read() {
+        readTransaction.executeWithoutResult(status -> statement());
+    }
+
+    // The lazy proxy only takes a physical connection at the first statement
+    private void statement() {
+        try {
+            DataSourceUtils.getConnection(dataSource).createStatement();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private DataSource pool(String name) throws SQLException {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> {
+            connections.add(name);
+            return mock(Connection.class);
+        });
+        return pool;
+    }
+}